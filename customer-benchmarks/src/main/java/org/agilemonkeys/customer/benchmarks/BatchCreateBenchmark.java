@@ -0,0 +1,71 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.agilemonkeys.customer.api.BatchCreateCustomersResponse;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer creation throughput over HTTP: one POST /customers per customer against a single
+ * POST /customers/batch. Scores are per customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+@OperationsPerInvocation(BatchCreateBenchmark.CUSTOMERS_PER_INVOCATION)
+public class BatchCreateBenchmark {
+
+    static final int CUSTOMERS_PER_INVOCATION = 1000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EmbeddedServer server;
+    private HttpClient httpClient;
+    private BlockingHttpClient client;
+
+    @Setup
+    public void setup() {
+        server = BenchmarkApplication.startServer();
+        httpClient = server.getApplicationContext().createBean(HttpClient.class, server.getURL());
+        client = httpClient.toBlocking();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.getApplicationContext().close();
+    }
+
+    @Benchmark
+    public void singleCreates(Blackhole blackhole) {
+        for (var saveCustomerRequest : nextRequests()) {
+            blackhole.consume(client.retrieve(HttpRequest.POST("/customers", saveCustomerRequest), Customer.class));
+        }
+    }
+
+    @Benchmark
+    public BatchCreateCustomersResponse batchCreate() {
+        return client.retrieve(HttpRequest.POST("/customers/batch", nextRequests()), BatchCreateCustomersResponse.class);
+    }
+
+    private List<SaveCustomerRequest> nextRequests() {
+        var saveCustomerRequests = new ArrayList<SaveCustomerRequest>(CUSTOMERS_PER_INVOCATION);
+        for (int i = 0; i < CUSTOMERS_PER_INVOCATION; i++) {
+            saveCustomerRequests.add(BenchmarkApplication.saveCustomerRequest(sequence.getAndIncrement()));
+        }
+        return saveCustomerRequests;
+    }
+}
@@ -0,0 +1,52 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Boots the customer service for the benchmarks, with the settings that would distort the
+ * measurements (SQL logging, fixed ports) switched off.
+ */
+public final class BenchmarkApplication {
+
+    public static final String ENVIRONMENT = "benchmark";
+
+    private BenchmarkApplication() {
+    }
+
+    public static ApplicationContext startContext() {
+        return startContext(Map.of());
+    }
+
+    public static ApplicationContext startContext(Map<String, Object> properties) {
+        return ApplicationContext.run(benchmarkProperties(properties), ENVIRONMENT);
+    }
+
+    public static EmbeddedServer startServer() {
+        return startServer(Map.of());
+    }
+
+    public static EmbeddedServer startServer(Map<String, Object> properties) {
+        return ApplicationContext.run(EmbeddedServer.class, benchmarkProperties(properties), ENVIRONMENT);
+    }
+
+    public static SaveCustomerRequest saveCustomerRequest(long sequence) {
+        var saveCustomerRequest = new SaveCustomerRequest();
+        saveCustomerRequest.setName("Francisco");
+        saveCustomerRequest.setSurname("Lopez");
+        saveCustomerRequest.setDocumentId(String.format("%08dB", sequence));
+        return saveCustomerRequest;
+    }
+
+    private static Map<String, Object> benchmarkProperties(Map<String, Object> properties) {
+        var benchmarkProperties = new HashMap<String, Object>();
+        benchmarkProperties.put("micronaut.server.port", -1);
+        benchmarkProperties.put("jpa.default.properties.hibernate.show_sql", false);
+        benchmarkProperties.putAll(properties);
+        return benchmarkProperties;
+    }
+}
@@ -0,0 +1,50 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the regular JMH command line, but always writes the
+ * results as JSON (by default into {@code jmh-results/<timestamp>.json}) so runs can be compared.
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter RESULT_FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        var commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+
+        var options = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getResult().hasValue()) {
+            options.result(commandLineOptions.getResult().get());
+        } else {
+            var resultDirectory = Files.createDirectories(Path.of(System.getProperty("jmh.results.dir", "jmh-results")));
+            var resultFile = resultDirectory.resolve(LocalDateTime.now().format(RESULT_FILE_FORMAT) + ".json");
+            options.result(resultFile.toString());
+        }
+        options.resultFormat(ResultFormatType.JSON);
+
+        new Runner(options.build()).run();
+    }
+}
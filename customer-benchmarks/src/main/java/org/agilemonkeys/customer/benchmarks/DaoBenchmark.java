@@ -0,0 +1,74 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link CustomerDaoServiceApi} against the in-memory H2 database configured in application.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class DaoBenchmark {
+
+    @Param({"10000"})
+    public int customers;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ApplicationContext applicationContext;
+    private CustomerDaoServiceApi customerDaoService;
+    private MapperService mapperService;
+    private long[] customerIds;
+
+    @Setup
+    public void setup() {
+        applicationContext = BenchmarkApplication.startContext();
+        customerDaoService = applicationContext.getBean(CustomerDaoServiceApi.class);
+        mapperService = applicationContext.getBean(MapperService.class);
+
+        customerIds = new long[customers];
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = customerDaoService.saveCustomer(newCustomerEntity()).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> findCustomerById() {
+        return customerDaoService.findCustomerById(randomCustomerId());
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> findCustomerByDocumentId() {
+        return customerDaoService.findCustomerByDocumentId(String.format("%08dB", ThreadLocalRandom.current().nextInt(customers)));
+    }
+
+    @Benchmark
+    public CustomerEntity insertCustomer() {
+        return customerDaoService.saveCustomer(newCustomerEntity());
+    }
+
+    private long randomCustomerId() {
+        return customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+    }
+
+    private CustomerEntity newCustomerEntity() {
+        return mapperService.toCustomerEntity(BenchmarkApplication.saveCustomerRequest(sequence.getAndIncrement()));
+    }
+}
@@ -0,0 +1,73 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency by documentId on a large table, with and without the unique index on documentId.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentIdLookupBenchmark {
+
+    private static final int CHUNK_SIZE = 10000;
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ApplicationContext applicationContext;
+    private CustomerDaoServiceApi customerDaoService;
+
+    @Setup
+    public void setup() throws SQLException {
+        applicationContext = BenchmarkApplication.startContext();
+        customerDaoService = applicationContext.getBean(CustomerDaoServiceApi.class);
+        var mapperService = applicationContext.getBean(MapperService.class);
+
+        if (!indexed) {
+            try (var connection = applicationContext.getBean(DataSource.class).getConnection();
+                 var statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE customers DROP CONSTRAINT " + CustomerEntity.DOCUMENT_ID_CONSTRAINT);
+            }
+        }
+
+        for (int from = 0; from < customers; from += CHUNK_SIZE) {
+            var chunk = new ArrayList<CustomerEntity>(CHUNK_SIZE);
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, customers); i++)
+                chunk.add(mapperService.toCustomerEntity(BenchmarkApplication.saveCustomerRequest(i)));
+            customerDaoService.saveCustomers(chunk);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> findExistingCustomer() {
+        return customerDaoService.findCustomerByDocumentId(String.format("%08dB", ThreadLocalRandom.current().nextInt(customers)));
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> findMissingCustomer() {
+        return customerDaoService.findCustomerByDocumentId(String.format("%08dM", ThreadLocalRandom.current().nextInt(customers)));
+    }
+}
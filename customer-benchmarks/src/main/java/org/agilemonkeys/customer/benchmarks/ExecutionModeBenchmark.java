@@ -0,0 +1,71 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.agilemonkeys.customer.api.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking handlers on a bounded IO pool against virtual threads, under many concurrent clients.
+ * <p>
+ * Reports throughput and the sampled latency percentiles (see p0.99). VIRTUAL only differs from IO
+ * on Java 21 or newer. The IO pool is made fixed-size here, as it would be in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(256)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"IO", "VIRTUAL"})
+    public String mode;
+
+    @Param({"16"})
+    public int ioThreads;
+
+    @Param({"1000"})
+    public int customers;
+
+    private EmbeddedServer server;
+    private HttpClient httpClient;
+    private BlockingHttpClient client;
+    private long[] customerIds;
+
+    @Setup
+    public void setup() {
+        server = BenchmarkApplication.startServer(Map.of(
+                "customer.execution.mode", mode,
+                "customer.cache.enabled", false,
+                "micronaut.executors.io.type", "FIXED",
+                "micronaut.executors.io.number-of-threads", ioThreads));
+        httpClient = server.getApplicationContext().createBean(HttpClient.class, server.getURL());
+        client = httpClient.toBlocking();
+
+        customerIds = new long[customers];
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = client.retrieve(HttpRequest.POST("/customers", BenchmarkApplication.saveCustomerRequest(i)),
+                    Customer.class).getCustomerId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.getApplicationContext().close();
+    }
+
+    @Benchmark
+    public Customer getCustomerDetail() {
+        var customerId = customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+        return client.retrieve(HttpRequest.GET("/customers/" + customerId), Customer.class);
+    }
+}
@@ -0,0 +1,88 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.agilemonkeys.customer.api.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full HTTP round trips through {@link org.agilemonkeys.customer.controller.CustomerController}
+ * on an embedded Netty server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class HttpRoundTripBenchmark {
+
+    @Param({"1000"})
+    public int customers;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EmbeddedServer server;
+    private HttpClient httpClient;
+    private BlockingHttpClient client;
+    private long[] customerIds;
+    private String[] eTags;
+
+    @Setup
+    public void setup() {
+        server = BenchmarkApplication.startServer();
+        httpClient = server.getApplicationContext().createBean(HttpClient.class, server.getURL());
+        client = httpClient.toBlocking();
+
+        customerIds = new long[customers];
+        eTags = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            var response = exchangeCreateCustomer();
+            customerIds[i] = response.body().getCustomerId();
+            eTags[i] = client.exchange(HttpRequest.GET("/customers/" + customerIds[i]), Customer.class)
+                    .getHeaders().get(HttpHeaders.ETAG);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.getApplicationContext().close();
+    }
+
+    @Benchmark
+    public Customer getCustomerDetail() {
+        var customerId = customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+        return client.retrieve(HttpRequest.GET("/customers/" + customerId), Customer.class);
+    }
+
+    /**
+     * Polling an unchanged customer with its ETag: answered with a body-less 304.
+     */
+    @Benchmark
+    public HttpStatus getUnchangedCustomerDetail() {
+        var index = ThreadLocalRandom.current().nextInt(customerIds.length);
+        return client.exchange(HttpRequest.GET("/customers/" + customerIds[index])
+                .header(HttpHeaders.IF_NONE_MATCH, eTags[index])).getStatus();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return exchangeCreateCustomer().body();
+    }
+
+    private HttpResponse<Customer> exchangeCreateCustomer() {
+        return client.exchange(
+                HttpRequest.POST("/customers", BenchmarkApplication.saveCustomerRequest(sequence.getAndIncrement())),
+                Customer.class);
+    }
+}
@@ -0,0 +1,73 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the API types, through the {@link JsonMapper} configured by Micronaut.
+ * <p>
+ * That is Jackson databind by default, and the serializers generated at compile time by Micronaut
+ * Serialization when built with {@code -Dserde}: run the jar of each build to compare them, with
+ * {@code -prof gc} for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+    private ApplicationContext applicationContext;
+    private JsonMapper jsonMapper;
+    private Customer customer;
+    private byte[] customerJson;
+    private byte[] saveCustomerRequestJson;
+
+    @Setup
+    public void setup() throws IOException {
+        applicationContext = BenchmarkApplication.startContext();
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+
+        customer = new Customer();
+        customer.setCustomerId(42L);
+        customer.setName("Francisco");
+        customer.setSurname("Lopez");
+        customer.setDocumentId("54353453Y");
+        customer.setCreatedDate(Instant.now());
+        customer.setCreatedBy("benchmark");
+        customer.setUpdatedDate(Instant.now());
+        customer.setUpdatedBy("benchmark");
+
+        customerJson = jsonMapper.writeValueAsBytes(customer);
+        saveCustomerRequestJson = jsonMapper.writeValueAsBytes(BenchmarkApplication.saveCustomerRequest(42));
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public byte[] serializeCustomer() throws IOException {
+        return jsonMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public Customer deserializeCustomer() throws IOException {
+        return jsonMapper.readValue(customerJson, Argument.of(Customer.class));
+    }
+
+    @Benchmark
+    public SaveCustomerRequest deserializeSaveCustomerRequest() throws IOException {
+        return jsonMapper.readValue(saveCustomerRequestJson, Argument.of(SaveCustomerRequest.class));
+    }
+}
@@ -0,0 +1,93 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import com.github.dozermapper.core.loader.api.BeanMappingBuilder;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compile-time generated {@link MapperService} with the Dozer mapper it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MapperBenchmark {
+
+    private Mapper dozerMapper;
+    private MapperService mapperService;
+
+    private SaveCustomerRequest saveCustomerRequest;
+    private CustomerEntity customerEntity;
+
+    @Setup
+    public void setup() {
+        dozerMapper = DozerBeanMapperBuilder.create()
+                .withMappingBuilder(new BeanMappingBuilder() {
+                    @Override
+                    protected void configure() {
+                        mapping(SaveCustomerRequest.class, CustomerEntity.class);
+                        mapping(CustomerEntity.class, Customer.class)
+                                .fields("id", "customerId");
+                    }
+                }).build();
+        mapperService = Mappers.getMapper(MapperService.class);
+
+        saveCustomerRequest = new SaveCustomerRequest();
+        saveCustomerRequest.setName("Francisco");
+        saveCustomerRequest.setSurname("Lopez");
+        saveCustomerRequest.setDocumentId("54353453Y");
+
+        customerEntity = new CustomerEntity();
+        customerEntity.setId(42L);
+        customerEntity.setName("Francisco");
+        customerEntity.setSurname("Lopez");
+        customerEntity.setDocumentId("54353453Y");
+        customerEntity.setCreatedDate(Instant.now());
+        customerEntity.setCreatedBy("benchmark");
+        customerEntity.setUpdatedDate(Instant.now());
+        customerEntity.setUpdatedBy("benchmark");
+    }
+
+    @Benchmark
+    public CustomerEntity dozerRequestToEntity() {
+        return dozerMapper.map(saveCustomerRequest, CustomerEntity.class);
+    }
+
+    @Benchmark
+    public CustomerEntity generatedRequestToEntity() {
+        return mapperService.toCustomerEntity(saveCustomerRequest);
+    }
+
+    @Benchmark
+    public Customer dozerEntityToCustomer() {
+        return dozerMapper.map(customerEntity, Customer.class);
+    }
+
+    @Benchmark
+    public Customer generatedEntityToCustomer() {
+        return mapperService.toCustomer(customerEntity);
+    }
+
+    @Benchmark
+    public CustomerEntity dozerUpdateEntity() {
+        dozerMapper.map(saveCustomerRequest, customerEntity);
+        return customerEntity;
+    }
+
+    @Benchmark
+    public CustomerEntity generatedUpdateEntity() {
+        mapperService.updateCustomerEntity(saveCustomerRequest, customerEntity);
+        return customerEntity;
+    }
+}
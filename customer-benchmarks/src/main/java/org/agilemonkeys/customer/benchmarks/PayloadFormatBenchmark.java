@@ -0,0 +1,110 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.controller.CustomerController;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the API types with the codecs the server negotiates, JSON against CBOR.
+ * <p>
+ * Prints the size of each payload in each format at setup. Run with {@code -prof gc} for the
+ * allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PayloadFormatBenchmark {
+
+    @Param({MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public String format;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ApplicationContext applicationContext;
+    private MediaTypeCodec codec;
+    private Customer customer;
+    private CustomerPage customerPage;
+    private byte[] customerBytes;
+    private byte[] customerPageBytes;
+    private byte[] saveCustomerRequestBytes;
+
+    @Setup
+    public void setup() {
+        applicationContext = BenchmarkApplication.startContext();
+        codec = applicationContext.getBean(MediaTypeCodecRegistry.class).findCodec(MediaType.of(format))
+                .orElseThrow(() -> new IllegalStateException("No codec for " + format));
+
+        customer = customer(42);
+        var customers = new ArrayList<Customer>();
+        for (int i = 0; i < pageSize; i++)
+            customers.add(customer(i));
+        customerPage = new CustomerPage();
+        customerPage.setCustomers(customers);
+        customerPage.setNextCursor("MTAw");
+
+        customerBytes = codec.encode(customer);
+        customerPageBytes = codec.encode(customerPage);
+        saveCustomerRequestBytes = codec.encode(BenchmarkApplication.saveCustomerRequest(42));
+        System.out.printf("%n%s: customer %d bytes, page of %d %d bytes, save request %d bytes%n",
+                format, customerBytes.length, pageSize, customerPageBytes.length, saveCustomerRequestBytes.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public byte[] encodeCustomer() {
+        return codec.encode(customer);
+    }
+
+    @Benchmark
+    public Customer decodeCustomer() {
+        return codec.decode(Argument.of(Customer.class), customerBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeCustomerPage() {
+        return codec.encode(customerPage);
+    }
+
+    @Benchmark
+    public CustomerPage decodeCustomerPage() {
+        return codec.decode(Argument.of(CustomerPage.class), customerPageBytes);
+    }
+
+    @Benchmark
+    public SaveCustomerRequest decodeSaveCustomerRequest() {
+        return codec.decode(Argument.of(SaveCustomerRequest.class), saveCustomerRequestBytes);
+    }
+
+    private static Customer customer(long customerId) {
+        var customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setName("Francisco");
+        customer.setSurname("Lopez");
+        customer.setDocumentId(String.format("%08dB", customerId));
+        customer.setCreatedDate(Instant.now());
+        customer.setCreatedBy("benchmark");
+        customer.setUpdatedDate(Instant.now());
+        customer.setUpdatedBy("benchmark");
+        customer.setVersion(1L);
+        return customer;
+    }
+}
@@ -0,0 +1,82 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.service.CustomerServiceApi;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Many threads reading the same few customers, with and without coalescing of concurrent loads.
+ * <p>
+ * Both caches are off, so every lookup that is not coalesced runs its own query. Reports throughput
+ * and the sampled latency percentiles (see p0.99), and prints the queries run per lookup after
+ * each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(1)
+public class RequestCoalescingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean coalesceLoads;
+
+    @Param({"1", "16"})
+    public int hotCustomers;
+
+    private final LongAdder lookups = new LongAdder();
+
+    private ApplicationContext applicationContext;
+    private CustomerServiceApi customerService;
+    private SessionFactory sessionFactory;
+    private long[] customerIds;
+    private long statementsAtStart;
+
+    @Setup
+    public void setup() {
+        applicationContext = BenchmarkApplication.startContext(Map.of(
+                "customer.cache.enabled", false,
+                "customer.cache.coalesce-loads", coalesceLoads,
+                "customer.second-level-cache.enabled", false));
+        customerService = applicationContext.getBean(CustomerServiceApi.class);
+        sessionFactory = applicationContext.getBean(SessionFactory.class);
+
+        customerIds = new long[hotCustomers];
+        for (int i = 0; i < hotCustomers; i++) {
+            customerIds[i] = customerService.createCustomer(BenchmarkApplication.saveCustomerRequest(i)).getCustomerId();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        lookups.reset();
+        statementsAtStart = sessionFactory.getStatistics().getPrepareStatementCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        var statements = sessionFactory.getStatistics().getPrepareStatementCount() - statementsAtStart;
+        System.out.printf("%n%d lookups, %d queries, %.3f queries per lookup%n",
+                lookups.sum(), statements, (double) statements / Math.max(1, lookups.sum()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Customer getCustomerDetail() {
+        lookups.increment();
+        return customerService.getCustomerDetail(customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)]);
+    }
+}
@@ -0,0 +1,83 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import org.agilemonkeys.customer.search.CustomerSearchConfiguration;
+import org.agilemonkeys.customer.search.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomerSearchIndex} queries over a million customers, with names and surnames drawn
+ * from a vocabulary of made-up words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ba", "be", "ca", "co", "da", "de", "fa", "fe", "ga", "go", "la", "le", "lo", "ma", "me", "mi",
+            "na", "ne", "pa", "pe", "ra", "re", "ro", "sa", "se", "ta", "te", "to", "va", "ve", "za", "zo"};
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"10000"})
+    public int names;
+
+    @Param({"50000"})
+    public int surnames;
+
+    private CustomerSearchIndex index;
+    private String name;
+    private String surname;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        var nameVocabulary = words(random, names);
+        var surnameVocabulary = words(random, surnames);
+
+        index = new CustomerSearchIndex(new CustomerSearchConfiguration());
+        for (long id = 1; id <= customers; id++)
+            index.index(id, nameVocabulary[random.nextInt(names)], surnameVocabulary[random.nextInt(surnames)]);
+
+        name = nameVocabulary[0];
+        surname = surnameVocabulary[0];
+    }
+
+    @Benchmark
+    public List<Long> surnamePrefix() {
+        return index.search(surname.substring(0, 4), 20);
+    }
+
+    @Benchmark
+    public List<Long> nameAndSurname() {
+        return index.search(name + " " + surname, 20);
+    }
+
+    /**
+     * The surname with its last two letters swapped.
+     */
+    @Benchmark
+    public List<Long> surnameWithTypo() {
+        var length = surname.length();
+        return index.search(surname.substring(0, length - 2) + surname.charAt(length - 1) + surname.charAt(length - 2), 20);
+    }
+
+    private static String[] words(Random random, int count) {
+        var words = new String[count];
+        for (int i = 0; i < count; i++) {
+            var word = new StringBuilder();
+            for (int syllables = 3 + random.nextInt(3); syllables > 0; syllables--)
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
@@ -0,0 +1,75 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.agilemonkeys.customer.api.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The blocking JPA stack against the reactive R2DBC stack (customer.stack), under the same load.
+ * <p>
+ * The customer cache is disabled so both stacks hit the database on every read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(256)
+@Fork(1)
+public class StackBenchmark {
+
+    @Param({"BLOCKING", "REACTIVE"})
+    public String stack;
+
+    @Param({"1000"})
+    public int customers;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EmbeddedServer server;
+    private HttpClient httpClient;
+    private BlockingHttpClient client;
+    private long[] customerIds;
+
+    @Setup
+    public void setup() {
+        server = BenchmarkApplication.startServer(Map.of(
+                "customer.stack", stack,
+                "customer.cache.enabled", false,
+                // The reactive stack does not write the outbox, so neither stack does
+                "customer.outbox.enabled", false));
+        httpClient = server.getApplicationContext().createBean(HttpClient.class, server.getURL());
+        client = httpClient.toBlocking();
+
+        customerIds = new long[customers];
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = createCustomer().getCustomerId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.getApplicationContext().close();
+    }
+
+    @Benchmark
+    public Customer getCustomerDetail() {
+        var customerId = customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+        return client.retrieve(HttpRequest.GET("/customers/" + customerId), Customer.class);
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return client.retrieve(HttpRequest.POST("/customers", BenchmarkApplication.saveCustomerRequest(sequence.getAndIncrement())),
+                Customer.class);
+    }
+}
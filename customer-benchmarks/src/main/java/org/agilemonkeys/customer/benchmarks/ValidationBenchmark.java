@@ -0,0 +1,49 @@
+package org.agilemonkeys.customer.benchmarks;
+
+import io.micronaut.http.exceptions.HttpStatusException;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.service.CustomerRequestValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating a save request, both for the happy path and for a rejected request
+ * (which pays for building the {@link HttpStatusException}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ValidationBenchmark {
+
+    private CustomerRequestValidator customerRequestValidator;
+    private SaveCustomerRequest validRequest;
+    private SaveCustomerRequest invalidRequest;
+
+    @Setup
+    public void setup() {
+        customerRequestValidator = new CustomerRequestValidator();
+        validRequest = BenchmarkApplication.saveCustomerRequest(1);
+        invalidRequest = BenchmarkApplication.saveCustomerRequest(2);
+        invalidRequest.setDocumentId("");
+    }
+
+    @Benchmark
+    public SaveCustomerRequest validRequest() {
+        customerRequestValidator.validateSaveCustomerRequest(validRequest);
+        return validRequest;
+    }
+
+    @Benchmark
+    public Object invalidRequest() {
+        try {
+            customerRequestValidator.validateSaveCustomerRequest(invalidRequest);
+            return invalidRequest;
+        } catch (HttpStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.agilemonkeys.customer.benchmarks.load;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.benchmarks.BenchmarkApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends each {@link Operation} to {@code /customers}, keeping track of the customers that exist so
+ * reads, updates and deletes hit live rows. When there is no customer left, the operation
+ * becomes a create.
+ */
+final class CustomerWorkload {
+
+    private final BlockingHttpClient client;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Customer> liveCustomers = new ArrayList<>();
+
+    CustomerWorkload(BlockingHttpClient client) {
+        this.client = client;
+    }
+
+    void populate(int customers) {
+        for (int i = 0; i < customers; i++)
+            create();
+    }
+
+    /**
+     * Sends the operation and returns the one actually performed.
+     */
+    Operation execute(Operation operation) {
+        if (operation == Operation.CREATE) {
+            create();
+            return Operation.CREATE;
+        }
+
+        var customer = operation == Operation.DELETE ? takeLiveCustomer() : pickLiveCustomer();
+        if (customer == null) {
+            create();
+            return Operation.CREATE;
+        }
+
+        switch (operation) {
+            case GET:
+                client.retrieve(HttpRequest.GET("/customers/" + customer.getCustomerId()), Customer.class);
+                break;
+            case UPDATE:
+                client.retrieve(HttpRequest.PUT("/customers/" + customer.getCustomerId(), updateRequest(customer)),
+                        Customer.class);
+                break;
+            case DELETE:
+                client.exchange(HttpRequest.DELETE("/customers/" + customer.getCustomerId()));
+                break;
+            default:
+                throw new IllegalStateException("Unexpected operation: " + operation);
+        }
+        return operation;
+    }
+
+    private void create() {
+        var saveCustomerRequest = BenchmarkApplication.saveCustomerRequest(sequence.getAndIncrement());
+        var customer = client.retrieve(HttpRequest.POST("/customers", saveCustomerRequest), Customer.class);
+        synchronized (liveCustomers) {
+            liveCustomers.add(customer);
+        }
+    }
+
+    private Customer pickLiveCustomer() {
+        synchronized (liveCustomers) {
+            if (liveCustomers.isEmpty())
+                return null;
+            return liveCustomers.get(ThreadLocalRandom.current().nextInt(liveCustomers.size()));
+        }
+    }
+
+    /**
+     * Removes a random customer, swapping the last one into its slot.
+     */
+    private Customer takeLiveCustomer() {
+        synchronized (liveCustomers) {
+            if (liveCustomers.isEmpty())
+                return null;
+            var index = ThreadLocalRandom.current().nextInt(liveCustomers.size());
+            var last = liveCustomers.remove(liveCustomers.size() - 1);
+            return index == liveCustomers.size() ? last : liveCustomers.set(index, last);
+        }
+    }
+
+    private static SaveCustomerRequest updateRequest(Customer customer) {
+        var saveCustomerRequest = new SaveCustomerRequest();
+        saveCustomerRequest.setName(customer.getName());
+        saveCustomerRequest.setSurname(customer.getSurname() + "-" + ThreadLocalRandom.current().nextInt(1000));
+        saveCustomerRequest.setDocumentId(customer.getDocumentId());
+        return saveCustomerRequest;
+    }
+}
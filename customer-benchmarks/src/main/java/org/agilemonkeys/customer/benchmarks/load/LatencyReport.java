@@ -0,0 +1,91 @@
+package org.agilemonkeys.customer.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per {@link Operation}. Latencies are recorded in
+ * microseconds with 3 significant digits, up to one minute.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (var operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void recordLatency(Operation operation, long latencyNanos) {
+        var micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        histograms.get(operation).recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    void print(PrintStream out, double measuredSeconds) {
+        out.printf("%-8s %10s %8s %12s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        var total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (var operation : Operation.values()) {
+            var histogram = histograms.get(operation);
+            var operationErrors = errors.get(operation).sum();
+            if (histogram.getTotalCount() == 0 && operationErrors == 0)
+                continue;
+
+            total.add(histogram);
+            totalErrors += operationErrors;
+            printLine(out, operation.name().toLowerCase(), histogram, operationErrors, measuredSeconds);
+        }
+        printLine(out, "total", total, totalErrors, measuredSeconds);
+    }
+
+    /**
+     * Writes the full percentile distribution of every operation as {@code <operation>.hgrm},
+     * the format the HdrHistogram plotter reads.
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (var operation : Operation.values()) {
+            var histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0)
+                continue;
+
+            try (var out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-8s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+}
@@ -0,0 +1,134 @@
+package org.agilemonkeys.customer.benchmarks.load;
+
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import org.agilemonkeys.customer.benchmarks.BenchmarkApplication;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the customer service without outside tooling. Boots the service on an embedded
+ * server, drives a mix of create, get, update and delete requests against {@code /customers} and
+ * reports throughput and p50/p99/p99.9 latencies per operation.
+ * <p>
+ * In {@link LoadOptions.Mode#CLOSED} mode every worker sends its next request once the previous
+ * one is answered. In {@link LoadOptions.Mode#OPEN} mode requests are scheduled at a fixed rate,
+ * and the response time is measured from the time the request was due rather than from the time
+ * it was sent, so a stalled server is not hidden by the workers waiting on it (coordinated
+ * omission). The time from send to answer is reported separately as the service time.
+ * <p>
+ * The percentile distributions are written to {@code load-results/<timestamp>/}.
+ */
+public final class LoadGenerator {
+
+    private static final DateTimeFormatter RESULT_DIRECTORY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final LoadOptions options;
+    private final CustomerWorkload workload;
+    private final LatencyReport responseTimes = new LatencyReport();
+    private final LatencyReport serviceTimes = new LatencyReport();
+
+    private LoadGenerator(LoadOptions options, CustomerWorkload workload) {
+        this.options = options;
+        this.workload = workload;
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        var options = LoadOptions.parse(args);
+        var server = BenchmarkApplication.startServer(Map.of(
+                "micronaut.http.client.read-timeout", "60s",
+                "micronaut.http.client.pool.enabled", true,
+                "micronaut.http.client.pool.max-connections", options.getConcurrency()));
+        try (var httpClient = server.getApplicationContext().createBean(HttpClient.class, server.getURL())) {
+            var workload = new CustomerWorkload(httpClient.toBlocking());
+            workload.populate(options.getCustomers());
+
+            System.out.println("Load test against " + server.getURL() + ": " + options);
+            new LoadGenerator(options, workload).run();
+        } finally {
+            server.getApplicationContext().close();
+        }
+    }
+
+    private void run() throws InterruptedException, ExecutionException, IOException {
+        var executor = Executors.newFixedThreadPool(options.getConcurrency());
+        var start = System.nanoTime();
+        var measureStart = start + options.getWarmup().toNanos();
+        var end = measureStart + options.getDuration().toNanos();
+        var tickets = new AtomicLong();
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) options.getRate();
+
+        Runnable worker = options.getMode() == LoadOptions.Mode.OPEN
+                ? () -> openLoop(tickets, start, intervalNanos, measureStart, end)
+                : () -> closedLoop(measureStart, end);
+        var workers = new ArrayList<Future<?>>();
+        for (int i = 0; i < options.getConcurrency(); i++)
+            workers.add(executor.submit(worker));
+        for (var running : workers)
+            running.get();
+        executor.shutdown();
+
+        var measuredSeconds = options.getDuration().toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        var resultDirectory = options.getResultsDirectory().resolve(LocalDateTime.now().format(RESULT_DIRECTORY_FORMAT));
+        if (options.getMode() == LoadOptions.Mode.OPEN) {
+            System.out.println();
+            System.out.println("Response time (from the scheduled send time, corrected for coordinated omission)");
+            responseTimes.print(System.out, measuredSeconds);
+            responseTimes.writeDistributions(resultDirectory.resolve("response-time"));
+        }
+        System.out.println();
+        System.out.println("Service time (from the actual send time)");
+        serviceTimes.print(System.out, measuredSeconds);
+        serviceTimes.writeDistributions(resultDirectory.resolve("service-time"));
+        System.out.println();
+        System.out.println("Percentile distributions written to " + resultDirectory.toAbsolutePath());
+    }
+
+    private void closedLoop(long measureStart, long end) {
+        for (var sent = System.nanoTime(); sent < end; sent = System.nanoTime())
+            send(sent, sent, measureStart);
+    }
+
+    /**
+     * Workers share one schedule: each takes the next slot, waits for it and sends. When all of them
+     * are busy the slots fall behind, and the delay shows up in the response time.
+     */
+    private void openLoop(AtomicLong tickets, long start, double intervalNanos, long measureStart, long end) {
+        while (true) {
+            var scheduled = start + (long) (tickets.getAndIncrement() * intervalNanos);
+            if (scheduled >= end)
+                return;
+
+            for (var wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime())
+                LockSupport.parkNanos(wait);
+            send(scheduled, System.nanoTime(), measureStart);
+        }
+    }
+
+    private void send(long scheduled, long sent, long measureStart) {
+        var operation = options.getMix().next();
+        try {
+            operation = workload.execute(operation);
+            var answered = System.nanoTime();
+            if (scheduled >= measureStart) {
+                responseTimes.recordLatency(operation, answered - scheduled);
+                serviceTimes.recordLatency(operation, answered - sent);
+            }
+        } catch (HttpClientException e) {
+            if (scheduled >= measureStart) {
+                responseTimes.recordError(operation);
+                serviceTimes.recordError(operation);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.agilemonkeys.customer.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line of the {@link LoadGenerator}, as {@code --name=value} pairs.
+ */
+public final class LoadOptions {
+
+    private static final Set<String> NAMES = Set.of(
+            "mode", "mix", "duration", "warmup", "concurrency", "rate", "customers", "results-dir");
+
+    public enum Mode {
+        /**
+         * Each worker sends its next request as soon as the previous one is answered.
+         */
+        CLOSED,
+        /**
+         * Requests are sent at a fixed arrival rate, whether or not the earlier ones were answered.
+         */
+        OPEN
+    }
+
+    private Mode mode = Mode.CLOSED;
+    private OperationMix mix = OperationMix.parse("create=10,get=70,update=15,delete=5");
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int concurrency = 32;
+    private int rate = 1000;
+    private int customers = 1000;
+    private Path resultsDirectory = Path.of("load-results");
+
+    public static LoadOptions parse(String[] args) {
+        var values = new HashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+
+            var name = arg.substring(2, arg.indexOf('='));
+            if (!NAMES.contains(name))
+                throw new IllegalArgumentException("Unknown option: " + name + ", expected one of " + NAMES);
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadOptions().apply(values);
+    }
+
+    private LoadOptions apply(Map<String, String> values) {
+        if (values.containsKey("mode"))
+            mode = Mode.valueOf(values.get("mode").toUpperCase());
+        if (values.containsKey("mix"))
+            mix = OperationMix.parse(values.get("mix"));
+        if (values.containsKey("duration"))
+            duration = Duration.parse(values.get("duration"));
+        if (values.containsKey("warmup"))
+            warmup = Duration.parse(values.get("warmup"));
+        if (values.containsKey("concurrency"))
+            concurrency = positive("concurrency", values.get("concurrency"));
+        if (values.containsKey("rate"))
+            rate = positive("rate", values.get("rate"));
+        if (values.containsKey("customers"))
+            customers = Integer.parseInt(values.get("customers"));
+        if (values.containsKey("results-dir"))
+            resultsDirectory = Path.of(values.get("results-dir"));
+        return this;
+    }
+
+    private static int positive(String name, String value) {
+        var number = Integer.parseInt(value);
+        if (number <= 0)
+            throw new IllegalArgumentException("The option " + name + " must be positive.");
+        return number;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public OperationMix getMix() {
+        return mix;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Requests per second in {@link Mode#OPEN} mode.
+     */
+    public int getRate() {
+        return rate;
+    }
+
+    /**
+     * Customers created before the run, so reads, updates and deletes have something to work on.
+     */
+    public int getCustomers() {
+        return customers;
+    }
+
+    public Path getResultsDirectory() {
+        return resultsDirectory;
+    }
+
+    @Override
+    public String toString() {
+        var description = "mode=" + mode + ", mix=" + mix + ", duration=" + duration + ", warmup=" + warmup
+                + ", concurrency=" + concurrency + ", customers=" + customers;
+        return mode == Mode.OPEN ? description + ", rate=" + rate + "/s" : description;
+    }
+}
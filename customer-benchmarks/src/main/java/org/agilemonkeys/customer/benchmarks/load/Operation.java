@@ -0,0 +1,11 @@
+package org.agilemonkeys.customer.benchmarks.load;
+
+/**
+ * Requests the load generator sends to {@code /customers}.
+ */
+public enum Operation {
+    CREATE,
+    GET,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,58 @@
+package org.agilemonkeys.customer.benchmarks.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of the next {@link Operation}, parsed from {@code create=10,get=70,update=15,delete=5}.
+ */
+public final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Integer> weights;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        var total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0)
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight.");
+    }
+
+    public static OperationMix parse(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var keyValue = entry.trim().split("=");
+            if (keyValue.length != 2)
+                throw new IllegalArgumentException("Invalid operation mix entry: " + entry);
+
+            var weight = Integer.parseInt(keyValue[1].trim());
+            if (weight < 0)
+                throw new IllegalArgumentException("Invalid operation weight: " + entry);
+            if (weight > 0)
+                weights.put(Operation.valueOf(keyValue[0].trim().toUpperCase()), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next() {
+        var value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i])
+                return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
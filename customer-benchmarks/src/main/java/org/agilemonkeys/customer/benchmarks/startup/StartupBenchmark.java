@@ -0,0 +1,161 @@
+package org.agilemonkeys.customer.benchmarks.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the customer service, JVM jar against native binary, and optionally against the
+ * jar built with compile-time JSON serializers (-Dserde). Each run launches a fresh
+ * process, measures the time until {@code GET /customers} is first answered with 200, then
+ * reads the resident set size (VmRSS, Linux only) right after that first response and again
+ * after a short burst of requests.
+ * <pre>
+ * java -cp benchmarks.jar org.agilemonkeys.customer.benchmarks.startup.StartupBenchmark \
+ *     --jar=customer/target/customer-1.0.0-SNAPSHOT.jar --native=customer/target/customer --runs=10
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+    private static final int WARM_REQUESTS = 1000;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var options = new LinkedHashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        var runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+
+        var commands = new LinkedHashMap<String, List<String>>();
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        if (options.containsKey("jar"))
+            commands.put("jvm", List.of(java, "-jar", options.get("jar")));
+        if (options.containsKey("serde-jar"))
+            commands.put("serde", List.of(java, "-jar", options.get("serde-jar")));
+        if (options.containsKey("native"))
+            commands.put("native", List.of(options.get("native")));
+        if (commands.isEmpty())
+            throw new IllegalArgumentException(
+                    "Pass --jar=<customer jar>, --serde-jar=<customer jar built with -Dserde> and/or --native=<customer binary>.");
+
+        var benchmark = new StartupBenchmark();
+        System.out.printf("%-8s %6s %14s %14s %14s %14s%n",
+                "image", "runs", "first ms p50", "first ms max", "RSS MB first", "RSS MB warm");
+        for (Map.Entry<String, List<String>> command : commands.entrySet()) {
+            var samples = new ArrayList<Sample>();
+            for (int i = 0; i < runs; i++)
+                samples.add(benchmark.run(command.getValue()));
+            print(command.getKey(), samples);
+        }
+    }
+
+    private Sample run(List<String> command) throws IOException, InterruptedException {
+        var port = freePort();
+        var processCommand = new ArrayList<>(command);
+        processCommand.add(1, "-Dmicronaut.server.port=" + port);
+        processCommand.add(2, "-Djpa.default.properties.hibernate.show_sql=false");
+
+        var started = System.nanoTime();
+        var process = new ProcessBuilder(processCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customers")).GET().build();
+            var firstResponseNanos = awaitFirstResponse(process, request, started);
+            var firstRss = residentSetKb(process);
+            for (int i = 0; i < WARM_REQUESTS; i++)
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            return new Sample(firstResponseNanos, firstRss, residentSetKb(process));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS))
+                process.destroyForcibly().waitFor();
+        }
+    }
+
+    private long awaitFirstResponse(Process process, HttpRequest request, long started) throws InterruptedException {
+        var deadline = started + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive())
+                throw new IllegalStateException("The service exited with code " + process.exitValue() + " before answering.");
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    return System.nanoTime() - started;
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1);
+        }
+        throw new IllegalStateException("The service did not answer within " + STARTUP_TIMEOUT + ".");
+    }
+
+    /**
+     * VmRSS of the process in KB, or -1 where /proc is not available.
+     */
+    private static long residentSetKb(Process process) throws IOException {
+        var status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status))
+            return -1;
+
+        for (var line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:"))
+                return Long.parseLong(line.replaceAll("\\D", ""));
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void print(String image, List<Sample> samples) {
+        var firstResponseMillis = samples.stream().mapToLong(sample -> sample.firstResponseNanos).sorted().toArray();
+        System.out.printf("%-8s %6d %14.1f %14.1f %14.1f %14.1f%n",
+                image,
+                samples.size(),
+                firstResponseMillis[firstResponseMillis.length / 2] / 1e6,
+                firstResponseMillis[firstResponseMillis.length - 1] / 1e6,
+                median(samples.stream().mapToLong(sample -> sample.firstRssKb).toArray()) / 1024.0,
+                median(samples.stream().mapToLong(sample -> sample.warmRssKb).toArray()) / 1024.0);
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static final class Sample {
+        private final long firstResponseNanos;
+        private final long firstRssKb;
+        private final long warmRssKb;
+
+        private Sample(long firstResponseNanos, long firstRssKb, long warmRssKb) {
+            this.firstResponseNanos = firstResponseNanos;
+            this.firstRssKb = firstRssKb;
+            this.warmRssKb = warmRssKb;
+        }
+    }
+}
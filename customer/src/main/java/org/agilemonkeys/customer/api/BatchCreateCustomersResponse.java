@@ -0,0 +1,38 @@
+package org.agilemonkeys.customer.api;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Introspected
+@Serdeable
+public class BatchCreateCustomersResponse {
+    private int created;
+    private int rejected;
+    private List<BatchCustomerResult> results;
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchCustomerResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchCustomerResult> results) {
+        this.results = results;
+    }
+}
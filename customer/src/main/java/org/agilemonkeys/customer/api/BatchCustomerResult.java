@@ -0,0 +1,64 @@
+package org.agilemonkeys.customer.api;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * The outcome of one item of a batch create request.
+ */
+@Introspected
+@Serdeable
+public class BatchCustomerResult {
+    private int index;
+    private int status;
+    private Customer customer;
+    private String message;
+
+    public static BatchCustomerResult created(int index, Customer customer) {
+        var result = new BatchCustomerResult();
+        result.setIndex(index);
+        result.setStatus(201);
+        result.setCustomer(customer);
+        return result;
+    }
+
+    public static BatchCustomerResult rejected(int index, int status, String message) {
+        var result = new BatchCustomerResult();
+        result.setIndex(index);
+        result.setStatus(status);
+        result.setMessage(message);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
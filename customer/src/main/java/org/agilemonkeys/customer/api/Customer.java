@@ -1,11 +1,13 @@
 package org.agilemonkeys.customer.api;
 
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Introspected
+@Serdeable
 public class Customer {
 
     private Long customerId;
@@ -19,6 +21,8 @@ public class Customer {
 
     private String updatedBy;
 
+    private Long version;
+
     public Long getCustomerId() {
         return customerId;
     }
@@ -82,4 +86,12 @@ public class Customer {
     public void setUpdatedBy(String updatedBy) {
         this.updatedBy = updatedBy;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
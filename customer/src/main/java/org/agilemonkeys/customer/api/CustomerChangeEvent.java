@@ -0,0 +1,65 @@
+package org.agilemonkeys.customer.api;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+
+/**
+ * A change of a customer, as published to downstream systems.
+ * <p>
+ * Delivery is at least once, so consumers should ignore an eventId they have already seen. The
+ * events of one customer are published in the order they happened.
+ */
+@Introspected
+@Serdeable
+public class CustomerChangeEvent {
+    private Long eventId;
+    private CustomerChangeType type;
+    private Long customerId;
+    private Instant occurredAt;
+    private Customer customer;
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public CustomerChangeType getType() {
+        return type;
+    }
+
+    public void setType(CustomerChangeType type) {
+        this.type = type;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    /**
+     * The customer after the change, or as it was when deleted.
+     */
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+}
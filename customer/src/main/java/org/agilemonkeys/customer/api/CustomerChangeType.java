@@ -0,0 +1,7 @@
+package org.agilemonkeys.customer.api;
+
+public enum CustomerChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,56 @@
+package org.agilemonkeys.customer.api;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Introspected
+@Serdeable
+public class CustomerImportSummary {
+    private long received;
+    private long imported;
+    private long rejected;
+    private List<Long> rejectedLines;
+    private boolean rejectedLinesTruncated;
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<Long> getRejectedLines() {
+        return rejectedLines;
+    }
+
+    public void setRejectedLines(List<Long> rejectedLines) {
+        this.rejectedLines = rejectedLines;
+    }
+
+    public boolean isRejectedLinesTruncated() {
+        return rejectedLinesTruncated;
+    }
+
+    public void setRejectedLinesTruncated(boolean rejectedLinesTruncated) {
+        this.rejectedLinesTruncated = rejectedLinesTruncated;
+    }
+}
@@ -0,0 +1,33 @@
+package org.agilemonkeys.customer.api;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+
+/**
+ * The fields that identify a revision of a customer, used to build its ETag without loading
+ * the whole customer.
+ */
+@Introspected
+@Serdeable
+public class CustomerVersion {
+    private Long version;
+    private Instant updatedDate;
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(Instant updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
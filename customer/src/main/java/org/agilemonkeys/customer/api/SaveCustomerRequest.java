@@ -1,8 +1,10 @@
 package org.agilemonkeys.customer.api;
 
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
 
 @Introspected
+@Serdeable
 public class SaveCustomerRequest {
     private String name;
     private String surname;
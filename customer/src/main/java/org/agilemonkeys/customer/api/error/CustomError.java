@@ -1,9 +1,16 @@
 package org.agilemonkeys.customer.api.error;
 
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
 
 @Introspected
+@Serdeable
 public class CustomError {
+    /**
+     * A conditional request (If-Match) for a customer that is no longer at the matched version.
+     */
+    public static final String MODIFIED_MESSAGE = "The customer has been modified.";
+
     private String message;
 
     public CustomError(String message) {
@@ -0,0 +1,125 @@
+package org.agilemonkeys.customer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.Customer;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of customers keyed by customer id.
+ * <p>
+ * Backed by Caffeine (W-TinyLFU admission, size and TTL eviction). Writers must call
+ * {@link #put(Customer)} or {@link #invalidate(Long)} once their change is committed; both wait
+ * for any load of the same key that is in progress, so a read started before the write can not
+ * put a stale value back afterwards.
+ * <p>
+ * Concurrent loads of the same customer share one database query (see {@link SingleFlight}),
+ * also when the cache is disabled and for customers that do not exist, which are never cached.
+ */
+@Singleton
+public class CustomerCache {
+    private final boolean enabled;
+    private final boolean coalesceLoads;
+    private final Cache<Long, Customer> cache;
+    private final SingleFlight<Long, Customer> loads = new SingleFlight<>();
+
+    @Inject
+    public CustomerCache(CustomerCacheConfiguration configuration) {
+        this.enabled = configuration.isEnabled();
+        this.coalesceLoads = configuration.isCoalesceLoads();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaximumSize())
+                .expireAfterWrite(configuration.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a customer from the cache, loading it on a miss.
+     *
+     * @param customerId The customer identifier
+     * @param loader     Loads the customer, returning null if it does not exist (misses are not cached)
+     * @return The customer, if it exists
+     */
+    public Optional<Customer> get(Long customerId, Function<Long, Customer> loader) {
+        if (!enabled)
+            return Optional.ofNullable(load(customerId, loader));
+
+        var customer = cache.getIfPresent(customerId);
+        if (customer != null)
+            return Optional.of(customer);
+
+        // compute() does not count a second miss, and still makes writers wait for the load
+        return Optional.ofNullable(load(customerId, id -> cache.asMap()
+                .compute(id, (key, cachedCustomer) -> cachedCustomer != null ? cachedCustomer : loader.apply(key))));
+    }
+
+    /**
+     * Get a customer only if it is already cached.
+     *
+     * @param customerId The customer identifier
+     * @return The cached customer, empty on a miss
+     */
+    public Optional<Customer> getIfPresent(Long customerId) {
+        if (!enabled)
+            return Optional.empty();
+
+        return Optional.ofNullable(cache.getIfPresent(customerId));
+    }
+
+    /**
+     * Refresh the cached copy of a customer after it has been written.
+     *
+     * @param customer The customer as stored in database
+     */
+    public void put(Customer customer) {
+        if (enabled)
+            cache.put(customer.getCustomerId(), customer);
+        loads.forget(customer.getCustomerId());
+    }
+
+    /**
+     * Remove a customer from the cache.
+     *
+     * @param customerId The customer identifier
+     */
+    public void invalidate(Long customerId) {
+        if (enabled)
+            cache.invalidate(customerId);
+        loads.forget(customerId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Number of customer loads that ran a database query.
+     */
+    public long loadExecutions() {
+        return loads.getExecutions();
+    }
+
+    /**
+     * Number of customer loads that joined a query already in flight.
+     */
+    public long coalescedLoads() {
+        return loads.getShared();
+    }
+
+    private Customer load(Long customerId, Function<Long, Customer> loader) {
+        if (!coalesceLoads)
+            return loader.apply(customerId);
+
+        return loads.execute(customerId, loader);
+    }
+}
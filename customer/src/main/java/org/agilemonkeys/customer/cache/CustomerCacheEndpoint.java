@@ -0,0 +1,35 @@
+package org.agilemonkeys.customer.cache;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import jakarta.inject.Inject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the customer cache counters at /customercache.
+ */
+@Endpoint(id = "customercache", defaultSensitive = false)
+public class CustomerCacheEndpoint {
+    private final CustomerCache customerCache;
+
+    @Inject
+    public CustomerCacheEndpoint(CustomerCache customerCache) {
+        this.customerCache = customerCache;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        var stats = customerCache.stats();
+        var result = new LinkedHashMap<String, Object>();
+        result.put("size", customerCache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loads", customerCache.loadExecutions());
+        result.put("coalescedLoads", customerCache.coalescedLoads());
+        return result;
+    }
+}
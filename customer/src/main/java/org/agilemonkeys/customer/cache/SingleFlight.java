@@ -0,0 +1,87 @@
+package org.agilemonkeys.customer.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key into a single call.
+ * <p>
+ * The first caller for a key runs the loader; callers arriving while it is in flight wait for it
+ * and get the same result, or the same exception. Nothing is kept once the call completes, so this
+ * only merges calls that overlap in time; caching the result is left to the caller.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Load a key, joining the call already in flight for it if there is one.
+     *
+     * @param key    The key to load
+     * @param loader Loads the key, may return null
+     * @return The loaded value
+     */
+    public V execute(K key, Function<K, V> loader) {
+        var call = new CompletableFuture<V>();
+        var existingCall = inFlight.putIfAbsent(key, call);
+        if (existingCall != null) {
+            shared.increment();
+            return join(existingCall);
+        }
+
+        executions.increment();
+        try {
+            var value = loader.apply(key);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Detach the call in flight for a key, if any, so later callers start a new one.
+     * <p>
+     * Writers call this once their change is committed: a call started before the write may
+     * return the old value, and callers arriving after the write must not join it.
+     *
+     * @param key The key that was written
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Number of times a loader was actually run.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Number of calls that joined a load already in flight instead of running their own.
+     */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    private static <V> V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.agilemonkeys.customer.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.http.codec.MediaTypeCodec;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes application/cbor bodies (RFC 8949) for the callers that ask for it, see
+ * schema/customer.cddl for the schema.
+ * <p>
+ * The API types are written with the same field names as in JSON, leaving out null fields, and
+ * dates as seconds since the epoch to the nanosecond. Uses its own Jackson mapper, so it works the
+ * same whichever JSON implementation the service was built with.
+ */
+@Singleton
+public class CborMediaTypeCodec implements MediaTypeCodec {
+    public static final MediaType APPLICATION_CBOR_TYPE = new MediaType(CustomerController.APPLICATION_CBOR);
+
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    @Override
+    public Collection<MediaType> getMediaTypes() {
+        return List.of(APPLICATION_CBOR_TYPE);
+    }
+
+    @Override
+    public <T> T decode(Argument<T> type, InputStream inputStream) throws CodecException {
+        try {
+            return cborMapper.readValue(inputStream, javaType(type));
+        } catch (IOException e) {
+            throw new CodecException("Error decoding CBOR body: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(Argument<T> type, byte[] bytes) throws CodecException {
+        try {
+            return cborMapper.readValue(bytes, javaType(type));
+        } catch (IOException e) {
+            throw new CodecException("Error decoding CBOR body: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> void encode(T object, OutputStream outputStream) throws CodecException {
+        try {
+            cborMapper.writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new CodecException("Error encoding object [" + object + "] to CBOR: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> byte[] encode(T object) throws CodecException {
+        try {
+            return cborMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new CodecException("Error encoding object [" + object + "] to CBOR: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T, B> ByteBuffer<B> encode(T object, ByteBufferFactory<?, B> allocator) throws CodecException {
+        var bytes = encode(object);
+        return allocator.copiedBuffer(bytes);
+    }
+
+    private <T> JavaType javaType(Argument<T> type) {
+        return cborMapper.getTypeFactory().constructType(type.asType());
+    }
+}
@@ -1,53 +1,205 @@
 package org.agilemonkeys.customer.controller;
 
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
-import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.BatchCreateCustomersResponse;
 import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerImportSummary;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
 import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.api.error.CustomError;
+import org.agilemonkeys.customer.execution.BlockingExecutorFactory;
+import org.agilemonkeys.customer.idempotency.IdempotencyStore;
+import org.agilemonkeys.customer.service.CustomerExportConfiguration;
+import org.agilemonkeys.customer.service.CustomerImportFormat;
+import org.agilemonkeys.customer.service.CustomerImportServiceApi;
 import org.agilemonkeys.customer.service.CustomerServiceApi;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-@ExecuteOn(TaskExecutors.IO)
+import java.util.List;
+import java.util.Optional;
+
+@ExecuteOn(BlockingExecutorFactory.BLOCKING)
 @Controller(value = "/customers")
+@Requires(property = "customer.stack", value = "BLOCKING", defaultValue = "BLOCKING")
 public class CustomerController {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String TEXT_CSV = "text/csv";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final CustomerServiceApi customerService;
+    private final CustomerImportServiceApi customerImportService;
+    private final CustomerNdjsonEncoder customerNdjsonEncoder;
+    private final CustomerExportConfiguration customerExportConfiguration;
+    private final IdempotencyStore idempotencyStore;
 
     @Inject
-    public CustomerController(CustomerServiceApi customerService) {
+    public CustomerController(CustomerServiceApi customerService, CustomerImportServiceApi customerImportService,
+                              CustomerNdjsonEncoder customerNdjsonEncoder, CustomerExportConfiguration customerExportConfiguration,
+                              IdempotencyStore idempotencyStore) {
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
+        this.customerNdjsonEncoder = customerNdjsonEncoder;
+        this.customerExportConfiguration = customerExportConfiguration;
+        this.idempotencyStore = idempotencyStore;
     }
 
+    /**
+     * Create a customer. With an Idempotency-Key header, retries with the same key and body get
+     * the response of the first attempt (marked with Idempotent-Replayed) instead of creating it again.
+     */
     @Post(
-            processes = MediaType.APPLICATION_JSON,
-            consumes = MediaType.APPLICATION_JSON)
-    public HttpResponse<Customer> saveCustomer(@Body SaveCustomerRequest saveCustomerRequest) {
-        return HttpResponse.status(HttpStatus.CREATED).body(customerService.createCustomer(saveCustomerRequest));
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<Customer> saveCustomer(@Body SaveCustomerRequest saveCustomerRequest,
+                                               @Nullable @Header(IDEMPOTENCY_KEY) String idempotencyKey) {
+        if (idempotencyKey == null)
+            return HttpResponse.status(HttpStatus.CREATED).body(customerService.createCustomer(saveCustomerRequest));
+
+        var response = idempotencyStore.execute(idempotencyKey, fingerprint(saveCustomerRequest),
+                () -> customerService.createCustomer(saveCustomerRequest));
+        var httpResponse = HttpResponse.status(HttpStatus.CREATED).body(response.getBody());
+        if (response.isReplayed())
+            httpResponse.header(IDEMPOTENT_REPLAYED, "true");
+        return httpResponse;
+    }
+
+    @Post(value = "/batch",
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<BatchCreateCustomersResponse> saveCustomers(@Body List<SaveCustomerRequest> saveCustomerRequests) {
+        return HttpResponse.status(HttpStatus.OK).body(customerService.createCustomers(saveCustomerRequests));
+    }
+
+    @Get(processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<CustomerPage> listCustomers(@Nullable @QueryValue String cursor, @Nullable @QueryValue Integer size) {
+        return HttpResponse.status(HttpStatus.OK).body(customerService.listCustomers(cursor, size));
+    }
+
+    /**
+     * Search customers by partial or misspelled name and surname, best match first.
+     */
+    @Get(value = "/search",
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<List<Customer>> searchCustomers(@Nullable @QueryValue String q, @Nullable @QueryValue Integer limit) {
+        return HttpResponse.status(HttpStatus.OK).body(customerService.searchCustomers(q, limit));
+    }
+
+    /**
+     * Export every customer as newline delimited JSON.
+     * <p>
+     * The body is streamed in chunks of customer.export.chunk-rows customers, and the next rows
+     * are only read from database once Netty is able to write more.
+     */
+    @Get(value = "/export", produces = APPLICATION_NDJSON)
+    public Publisher<byte[]> exportCustomers() {
+        return Flux.from(customerService.exportCustomers())
+                .buffer(customerExportConfiguration.getChunkRows())
+                .map(customerNdjsonEncoder::encode);
+    }
+
+    /**
+     * Import customers from a newline delimited JSON or CSV body.
+     * <p>
+     * The body is consumed as it arrives, it is never buffered as a whole.
+     */
+    @Post(value = "/import",
+            consumes = {APPLICATION_NDJSON, TEXT_CSV},
+            produces = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public Mono<CustomerImportSummary> importCustomers(@Header(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                       @Body Publisher<byte[]> body) {
+        var format = TEXT_CSV.equals(contentType.getName()) ? CustomerImportFormat.CSV : CustomerImportFormat.NDJSON;
+        return customerImportService.importCustomers(body, format);
     }
 
     @Get(value = "/{customerId}",
-            processes = MediaType.APPLICATION_JSON,
-            consumes = MediaType.APPLICATION_JSON)
-    public HttpResponse<Customer> getCustomerDetail(@PathVariable Long customerId) {
-        return HttpResponse.status(HttpStatus.OK).body(customerService.getCustomerDetail(customerId));
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<Customer> getCustomerDetail(@PathVariable Long customerId,
+                                                    @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var eTag = currentETag(customerId);
+            if (eTag.isPresent() && CustomerETags.matchesWeak(ifNoneMatch, eTag.get()))
+                return HttpResponse.<Customer>notModified().header(HttpHeaders.ETAG, eTag.get());
+        }
+
+        var customer = customerService.getCustomerDetail(customerId);
+        return HttpResponse.status(HttpStatus.OK).body(customer).header(HttpHeaders.ETAG, CustomerETags.of(customer));
+    }
+
+    @Get(value = "/by-document/{documentId}",
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<Customer> getCustomerByDocumentId(@PathVariable String documentId) {
+        return HttpResponse.status(HttpStatus.OK).body(customerService.getCustomerByDocumentId(documentId));
     }
 
     @Put(value = "/{customerId}",
-            processes = MediaType.APPLICATION_JSON,
-            consumes = MediaType.APPLICATION_JSON)
-    public HttpResponse<Customer> updateCustomer(@PathVariable Long customerId, @Body SaveCustomerRequest saveCustomerRequest) {
-        return HttpResponse.status(HttpStatus.OK).body(customerService.updateCustomer(customerId, saveCustomerRequest));
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<Customer> updateCustomer(@PathVariable Long customerId, @Body SaveCustomerRequest saveCustomerRequest,
+                                                 @Nullable @Header(HttpHeaders.IF_MATCH) String ifMatch) {
+        var customer = customerService.updateCustomer(customerId, saveCustomerRequest, checkIfMatch(customerId, ifMatch));
+        return HttpResponse.status(HttpStatus.OK).body(customer).header(HttpHeaders.ETAG, CustomerETags.of(customer));
+    }
+
+    @Patch(value = "/{customerId}",
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<Customer> patchCustomer(@PathVariable Long customerId, @Body PatchCustomerRequest patchCustomerRequest) {
+        var customer = customerService.patchCustomer(customerId, patchCustomerRequest);
+        return HttpResponse.status(HttpStatus.OK).body(customer).header(HttpHeaders.ETAG, CustomerETags.of(customer));
     }
 
     @Delete(value = "/{customerId}",
-            processes = MediaType.APPLICATION_JSON,
-            consumes = MediaType.APPLICATION_JSON)
-    public HttpResponse<Void> deleteCustomer(@PathVariable Long customerId) {
-        customerService.deleteCustomer(customerId);
+            processes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<Void> deleteCustomer(@PathVariable Long customerId,
+                                             @Nullable @Header(HttpHeaders.IF_MATCH) String ifMatch) {
+        customerService.deleteCustomer(customerId, checkIfMatch(customerId, ifMatch));
         return HttpResponse.noContent();
     }
+
+    /**
+     * Rejects the request with 412 if it has an If-Match header that does not match the current
+     * customer, or the customer does not exist.
+     *
+     * @return the version the If-Match header matched, for the service to write only over that
+     * version; null without If-Match or with "*"
+     */
+    private Long checkIfMatch(Long customerId, String ifMatch) {
+        if (ifMatch == null)
+            return null;
+
+        var customerVersion = customerService.getCustomerVersion(customerId);
+        if (customerVersion.isEmpty() || !CustomerETags.matchesStrong(ifMatch, CustomerETags.of(customerVersion.get())))
+            throw new HttpStatusException(HttpStatus.PRECONDITION_FAILED, new CustomError(CustomError.MODIFIED_MESSAGE));
+
+        return CustomerETags.matchesAny(ifMatch) ? null : customerVersion.get().getVersion();
+    }
+
+    private static String fingerprint(SaveCustomerRequest saveCustomerRequest) {
+        return saveCustomerRequest.getName() + '\0' + saveCustomerRequest.getSurname() + '\0'
+                + saveCustomerRequest.getDocumentId();
+    }
+
+    private Optional<String> currentETag(Long customerId) {
+        return customerService.getCustomerVersion(customerId).map(CustomerETags::of);
+    }
 }
@@ -0,0 +1,72 @@
+package org.agilemonkeys.customer.controller;
+
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerVersion;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Strong entity tags for customers, built from the version and the last update date.
+ */
+final class CustomerETags {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private CustomerETags() {
+    }
+
+    static String of(Long version, Instant updatedDate) {
+        return "\"" + version + "-" + (updatedDate == null ? 0 : updatedDate.toEpochMilli()) + "\"";
+    }
+
+    static String of(Customer customer) {
+        return of(customer.getVersion(), customer.getUpdatedDate());
+    }
+
+    static String of(CustomerVersion customerVersion) {
+        return of(customerVersion.getVersion(), customerVersion.getUpdatedDate());
+    }
+
+    /**
+     * If-None-Match comparison: weak, so "W/" tags match their strong counterpart.
+     *
+     * @param ifNoneMatch the header value, a list of tags or "*"
+     * @param eTag        the current tag of the customer
+     * @return whether any of the tags matches
+     */
+    static boolean matchesWeak(String ifNoneMatch, String eTag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals(ANY) || stripWeakPrefix(tag).equals(eTag));
+    }
+
+    /**
+     * If-Match comparison: strong, so "W/" tags never match.
+     *
+     * @param ifMatch the header value, a list of tags or "*"
+     * @param eTag    the current tag of the customer
+     * @return whether any of the tags matches
+     */
+    static boolean matchesStrong(String ifMatch, String eTag) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals(ANY) || tag.equals(eTag));
+    }
+
+    /**
+     * Whether an If-Match header is "*", or has it among its tags, so it matches any version.
+     *
+     * @param ifMatch the header value
+     * @return whether it matches any version of an existing customer
+     */
+    static boolean matchesAny(String ifMatch) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(ANY::equals);
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,37 @@
+package org.agilemonkeys.customer.controller;
+
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.Customer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes chunks of the customer export as newline delimited JSON.
+ */
+@Singleton
+class CustomerNdjsonEncoder {
+    private final JsonMapper jsonMapper;
+
+    @Inject
+    CustomerNdjsonEncoder(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    byte[] encode(List<Customer> customers) {
+        var output = new ByteArrayOutputStream(customers.size() * 256);
+        try {
+            for (var customer : customers) {
+                jsonMapper.writeValue(output, customer);
+                output.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
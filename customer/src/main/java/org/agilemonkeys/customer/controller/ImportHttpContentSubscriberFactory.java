@@ -0,0 +1,54 @@
+package org.agilemonkeys.customer.controller;
+
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.DefaultHttpContentProcessor;
+import io.micronaut.http.server.netty.HttpContentProcessor;
+import io.micronaut.http.server.netty.HttpContentSubscriberFactory;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.netty.buffer.ByteBufHolder;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.service.CustomerImportConfiguration;
+
+/**
+ * Reads the NDJSON and CSV bodies of POST /customers/import with customer.import.max-request-size
+ * as the limit, so imports can stream multi-GB bodies while micronaut.server.max-request-size keeps
+ * every other body small. Import is the only endpoint that consumes these media types.
+ */
+@Singleton
+@Consumes({CustomerController.APPLICATION_NDJSON, CustomerController.TEXT_CSV})
+public class ImportHttpContentSubscriberFactory implements HttpContentSubscriberFactory {
+    private final HttpServerConfiguration serverConfiguration;
+    private final CustomerImportConfiguration customerImportConfiguration;
+
+    public ImportHttpContentSubscriberFactory(HttpServerConfiguration serverConfiguration,
+                                              CustomerImportConfiguration customerImportConfiguration) {
+        this.serverConfiguration = serverConfiguration;
+        this.customerImportConfiguration = customerImportConfiguration;
+    }
+
+    @Override
+    public HttpContentProcessor build(NettyHttpRequest request) {
+        return new ImportHttpContentProcessor(request, serverConfiguration, customerImportConfiguration.getMaxRequestSize());
+    }
+
+    private static class ImportHttpContentProcessor extends DefaultHttpContentProcessor {
+        private final long maxImportSize;
+
+        ImportHttpContentProcessor(NettyHttpRequest<?> request, HttpServerConfiguration configuration, long maxImportSize) {
+            super(request, configuration);
+            this.maxImportSize = maxImportSize;
+        }
+
+        @Override
+        protected void onUpstreamMessage(ByteBufHolder message) {
+            long receivedLength = this.receivedLength.addAndGet(message.content().readableBytes());
+            if (advertisedLength > maxImportSize)
+                fireExceedsLength(advertisedLength, maxImportSize, message);
+            else if (receivedLength > maxImportSize)
+                fireExceedsLength(receivedLength, maxImportSize, message);
+            else
+                publishVerifiedContent(message);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.agilemonkeys.customer.controller;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.*;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.BatchCreateCustomersResponse;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerImportSummary;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.api.error.CustomError;
+import org.agilemonkeys.customer.service.CustomerExportConfiguration;
+import org.agilemonkeys.customer.service.CustomerImportFormat;
+import org.agilemonkeys.customer.service.CustomerImportServiceApi;
+import org.agilemonkeys.customer.service.CustomerServiceApi;
+import org.agilemonkeys.customer.service.ReactiveCustomerServiceApi;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Same API as {@link CustomerController}, served from the event loop over R2DBC.
+ * <p>
+ * Selected with customer.stack=REACTIVE. The bulk endpoints (batch, export and import) are
+ * shared with the blocking stack; batch creation is moved off the event loop.
+ */
+@Controller(value = "/customers")
+@Requires(property = "customer.stack", value = "REACTIVE")
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerServiceApi reactiveCustomerService;
+    private final CustomerServiceApi customerService;
+    private final CustomerImportServiceApi customerImportService;
+    private final CustomerNdjsonEncoder customerNdjsonEncoder;
+    private final CustomerExportConfiguration customerExportConfiguration;
+
+    @Inject
+    public ReactiveCustomerController(ReactiveCustomerServiceApi reactiveCustomerService, CustomerServiceApi customerService,
+                                      CustomerImportServiceApi customerImportService, CustomerNdjsonEncoder customerNdjsonEncoder,
+                                      CustomerExportConfiguration customerExportConfiguration) {
+        this.reactiveCustomerService = reactiveCustomerService;
+        this.customerService = customerService;
+        this.customerImportService = customerImportService;
+        this.customerNdjsonEncoder = customerNdjsonEncoder;
+        this.customerExportConfiguration = customerExportConfiguration;
+    }
+
+    @Post(
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<MutableHttpResponse<Customer>> saveCustomer(@Body SaveCustomerRequest saveCustomerRequest) {
+        return reactiveCustomerService.createCustomer(saveCustomerRequest)
+                .map(customer -> HttpResponse.status(HttpStatus.CREATED).body(customer));
+    }
+
+    @Post(value = "/batch",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<BatchCreateCustomersResponse> saveCustomers(@Body List<SaveCustomerRequest> saveCustomerRequests) {
+        return Mono.fromCallable(() -> customerService.createCustomers(saveCustomerRequests))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Get(processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<CustomerPage> listCustomers(@Nullable @QueryValue String cursor, @Nullable @QueryValue Integer size) {
+        return reactiveCustomerService.listCustomers(cursor, size);
+    }
+
+    @Get(value = "/search",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<List<Customer>> searchCustomers(@Nullable @QueryValue String q, @Nullable @QueryValue Integer limit) {
+        return reactiveCustomerService.searchCustomers(q, limit);
+    }
+
+    @Get(value = "/export", produces = CustomerController.APPLICATION_NDJSON)
+    public Publisher<byte[]> exportCustomers() {
+        return Flux.from(customerService.exportCustomers())
+                .buffer(customerExportConfiguration.getChunkRows())
+                .map(customerNdjsonEncoder::encode);
+    }
+
+    @Post(value = "/import",
+            consumes = {CustomerController.APPLICATION_NDJSON, CustomerController.TEXT_CSV},
+            produces = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<CustomerImportSummary> importCustomers(@Header(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                       @Body Publisher<byte[]> body) {
+        var format = CustomerController.TEXT_CSV.equals(contentType.getName()) ? CustomerImportFormat.CSV : CustomerImportFormat.NDJSON;
+        return customerImportService.importCustomers(body, format);
+    }
+
+    @Get(value = "/{customerId}",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<MutableHttpResponse<Customer>> getCustomerDetail(@PathVariable Long customerId,
+                                                                 @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        Mono<MutableHttpResponse<Customer>> notModified = ifNoneMatch == null ? Mono.empty()
+                : reactiveCustomerService.getCustomerVersion(customerId)
+                .map(CustomerETags::of)
+                .filter(eTag -> CustomerETags.matchesWeak(ifNoneMatch, eTag))
+                .map(eTag -> HttpResponse.<Customer>notModified().header(HttpHeaders.ETAG, eTag));
+
+        return notModified.switchIfEmpty(Mono.defer(() -> reactiveCustomerService.getCustomerDetail(customerId)
+                .map(this::okWithETag)));
+    }
+
+    @Get(value = "/by-document/{documentId}",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<Customer> getCustomerByDocumentId(@PathVariable String documentId) {
+        return reactiveCustomerService.getCustomerByDocumentId(documentId);
+    }
+
+    @Put(value = "/{customerId}",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<MutableHttpResponse<Customer>> updateCustomer(@PathVariable Long customerId, @Body SaveCustomerRequest saveCustomerRequest,
+                                                              @Nullable @Header(HttpHeaders.IF_MATCH) String ifMatch) {
+        return checkIfMatch(customerId, ifMatch)
+                .flatMap(ifMatchVersion -> reactiveCustomerService.updateCustomer(customerId, saveCustomerRequest,
+                        ifMatchVersion.orElse(null)))
+                .map(this::okWithETag);
+    }
+
+    @Patch(value = "/{customerId}",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<MutableHttpResponse<Customer>> patchCustomer(@PathVariable Long customerId, @Body PatchCustomerRequest patchCustomerRequest) {
+        return reactiveCustomerService.patchCustomer(customerId, patchCustomerRequest)
+                .map(this::okWithETag);
+    }
+
+    @Delete(value = "/{customerId}",
+            processes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR},
+            consumes = {MediaType.APPLICATION_JSON, CustomerController.APPLICATION_CBOR})
+    public Mono<MutableHttpResponse<Void>> deleteCustomer(@PathVariable Long customerId,
+                                                          @Nullable @Header(HttpHeaders.IF_MATCH) String ifMatch) {
+        return checkIfMatch(customerId, ifMatch)
+                .flatMap(ifMatchVersion -> reactiveCustomerService.deleteCustomer(customerId, ifMatchVersion.orElse(null)))
+                .thenReturn(HttpResponse.<Void>noContent());
+    }
+
+    /**
+     * Fails with 412 if the request has an If-Match header that does not match the current
+     * customer, or the customer does not exist.
+     *
+     * @return the version the If-Match header matched, for the service to write only over that
+     * version; empty without If-Match or with "*"
+     */
+    private Mono<Optional<Long>> checkIfMatch(Long customerId, String ifMatch) {
+        if (ifMatch == null)
+            return Mono.just(Optional.empty());
+
+        return reactiveCustomerService.getCustomerVersion(customerId)
+                .filter(customerVersion -> CustomerETags.matchesStrong(ifMatch, CustomerETags.of(customerVersion)))
+                .map(customerVersion -> CustomerETags.matchesAny(ifMatch) ? Optional.<Long>empty()
+                        : Optional.of(customerVersion.getVersion()))
+                .switchIfEmpty(Mono.error(() -> new HttpStatusException(HttpStatus.PRECONDITION_FAILED,
+                        new CustomError(CustomError.MODIFIED_MESSAGE))));
+    }
+
+    private MutableHttpResponse<Customer> okWithETag(Customer customer) {
+        return HttpResponse.status(HttpStatus.OK).body(customer).header(HttpHeaders.ETAG, CustomerETags.of(customer));
+    }
+}
@@ -0,0 +1,68 @@
+package org.agilemonkeys.customer.execution;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.error.CustomError;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the customer endpoints.
+ * <p>
+ * Requests beyond the current read or write limit (see {@link AimdLimiter}) get an immediate 503
+ * with Retry-After, instead of queueing for a connection while the database is slow. Exports and
+ * imports are not limited: they stream for as long as the body lasts, so their latency says
+ * nothing about the database.
+ */
+@Filter("/customers/**")
+public class AdaptiveConcurrencyLimitFilter implements HttpServerFilter {
+    private static final Set<String> STREAMING_PATHS = Set.of("/customers/export", "/customers/import");
+
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final ConcurrencyLimiters limiters;
+
+    @Inject
+    public AdaptiveConcurrencyLimitFilter(ConcurrencyLimiterConfiguration configuration, ConcurrencyLimiters limiters) {
+        this.enabled = configuration.isEnabled();
+        this.retryAfterSeconds = String.valueOf(Math.max(1, configuration.getRetryAfter().toSeconds()));
+        this.limiters = limiters;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!enabled || STREAMING_PATHS.contains(request.getPath()))
+            return chain.proceed(request);
+
+        var limiter = isRead(request.getMethod()) ? limiters.getReads() : limiters.getWrites();
+        var inFlight = limiter.tryAcquire();
+        if (inFlight == 0)
+            return Publishers.just(HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                    .body(new CustomError("The service is overloaded, retry later.")));
+
+        var start = System.nanoTime();
+        var serverError = new AtomicBoolean();
+        return Flux.from(chain.proceed(request))
+                .doOnNext(response -> serverError.set(response.getStatus().getCode() >= 500))
+                .doFinally(signal -> limiter.release(inFlight, System.nanoTime() - start,
+                        signal == SignalType.ON_ERROR || serverError.get()));
+    }
+
+    private static boolean isRead(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD;
+    }
+}
@@ -0,0 +1,85 @@
+package org.agilemonkeys.customer.execution;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limit: additive increase, multiplicative decrease.
+ * <p>
+ * Every completed request is a sample. One slower than the latency threshold, or failing with a
+ * 5xx, multiplies the limit by the backoff ratio. A fast one adds 1 to the limit, but only while
+ * at least half of it is in use, so an idle service does not grow an untested limit.
+ */
+public class AimdLimiter {
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by this for updates
+    private volatile double limit;
+
+    public AimdLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                       Duration latencyThreshold) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Admit a request if the limit allows it. An admitted request must be released.
+     *
+     * @return the requests in flight including this one, 0 if it is rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1))
+                return current + 1;
+        }
+    }
+
+    /**
+     * Release an admitted request, adjusting the limit with its outcome.
+     *
+     * @param inFlightAtStart the value returned by {@link #tryAcquire()}
+     * @param latencyNanos    how long the request took
+     * @param failed          whether it failed with a server error
+     */
+    public void release(int inFlightAtStart, long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos)
+                limit = Math.max(minLimit, limit * backoffRatio);
+            else if (inFlightAtStart * 2 >= limit)
+                limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
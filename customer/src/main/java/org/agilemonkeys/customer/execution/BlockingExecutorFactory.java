@@ -0,0 +1,62 @@
+package org.agilemonkeys.customer.execution;
+
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executor blocking request handlers run on, see {@link CustomerExecutionConfiguration}.
+ */
+@Factory
+public class BlockingExecutorFactory {
+    public static final String BLOCKING = "blocking";
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlockingExecutorFactory.class);
+
+    /**
+     * In IO mode this is the IO executor itself. In VIRTUAL mode it starts a virtual thread per
+     * task, and lets at most as many tasks run as the datasource pool has connections.
+     * <p>
+     * Virtual threads are created through a method handle so the service still builds and runs
+     * on Java 11; there it falls back to the IO executor.
+     */
+    @Singleton
+    @Named(BLOCKING)
+    public ExecutorService blockingExecutor(CustomerExecutionConfiguration configuration,
+                                            @Named(TaskExecutors.IO) ExecutorService ioExecutor,
+                                            @Value("${datasources.default.maximum-pool-size:10}") int connectionPoolSize) {
+        if (configuration.getMode() == ExecutionMode.IO)
+            return ioExecutor;
+
+        var virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        if (virtualThreadExecutor.isEmpty()) {
+            LOG.warn("Virtual threads need Java 21 or newer, running blocking handlers on the IO executor");
+            return ioExecutor;
+        }
+
+        LOG.info("Running blocking handlers on virtual threads, at most {} at a time", connectionPoolSize);
+        return new ConnectionBoundExecutorService(virtualThreadExecutor.get(), connectionPoolSize);
+    }
+
+    private static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            var factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+            return Optional.of((ExecutorService) factory.invoke());
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.agilemonkeys.customer.execution;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("customer.limiter")
+public class ConcurrencyLimiterConfiguration {
+    private boolean enabled = true;
+    private int minLimit = 4;
+    private double backoffRatio = 0.9;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private int readInitialLimit = 100;
+    private int readMaxLimit = 1000;
+    private Duration readLatencyThreshold = Duration.ofMillis(250);
+    private int writeInitialLimit = 20;
+    private int writeMaxLimit = 200;
+    private Duration writeLatencyThreshold = Duration.ofMillis(500);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public int getReadInitialLimit() {
+        return readInitialLimit;
+    }
+
+    public void setReadInitialLimit(int readInitialLimit) {
+        this.readInitialLimit = readInitialLimit;
+    }
+
+    public int getReadMaxLimit() {
+        return readMaxLimit;
+    }
+
+    public void setReadMaxLimit(int readMaxLimit) {
+        this.readMaxLimit = readMaxLimit;
+    }
+
+    public Duration getReadLatencyThreshold() {
+        return readLatencyThreshold;
+    }
+
+    public void setReadLatencyThreshold(Duration readLatencyThreshold) {
+        this.readLatencyThreshold = readLatencyThreshold;
+    }
+
+    public int getWriteInitialLimit() {
+        return writeInitialLimit;
+    }
+
+    public void setWriteInitialLimit(int writeInitialLimit) {
+        this.writeInitialLimit = writeInitialLimit;
+    }
+
+    public int getWriteMaxLimit() {
+        return writeMaxLimit;
+    }
+
+    public void setWriteMaxLimit(int writeMaxLimit) {
+        this.writeMaxLimit = writeMaxLimit;
+    }
+
+    public Duration getWriteLatencyThreshold() {
+        return writeLatencyThreshold;
+    }
+
+    public void setWriteLatencyThreshold(Duration writeLatencyThreshold) {
+        this.writeLatencyThreshold = writeLatencyThreshold;
+    }
+}
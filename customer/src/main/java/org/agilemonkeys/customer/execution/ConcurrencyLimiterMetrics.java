@@ -0,0 +1,42 @@
+package org.agilemonkeys.customer.execution;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Publishes the state of the {@link ConcurrencyLimiters}: customer.limiter.limit,
+ * customer.limiter.in.flight and customer.limiter.rejected, tagged with the operation (read or write).
+ */
+@Singleton
+@Requires(beans = MeterRegistry.class)
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+    private final ConcurrencyLimiters limiters;
+
+    @Inject
+    public ConcurrencyLimiterMetrics(ConcurrencyLimiters limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (var limiter : limiters.getAll()) {
+            Gauge.builder("customer.limiter.limit", limiter, AimdLimiter::getLimit)
+                    .description("Requests admitted at the same time")
+                    .tag("operation", limiter.getName())
+                    .register(registry);
+            Gauge.builder("customer.limiter.in.flight", limiter, AimdLimiter::getInFlight)
+                    .description("Admitted requests in flight")
+                    .tag("operation", limiter.getName())
+                    .register(registry);
+            FunctionCounter.builder("customer.limiter.rejected", limiter, AimdLimiter::getRejected)
+                    .description("Requests rejected with a 503")
+                    .tag("operation", limiter.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.agilemonkeys.customer.execution;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * The concurrency limits of the customer endpoints: one for reads and one for writes, so a
+ * burst of slow writes does not starve cheap reads, or the other way round.
+ */
+@Singleton
+public class ConcurrencyLimiters {
+    private final AimdLimiter reads;
+    private final AimdLimiter writes;
+
+    @Inject
+    public ConcurrencyLimiters(ConcurrencyLimiterConfiguration configuration) {
+        this.reads = new AimdLimiter("read", configuration.getReadInitialLimit(), configuration.getMinLimit(),
+                configuration.getReadMaxLimit(), configuration.getBackoffRatio(), configuration.getReadLatencyThreshold());
+        this.writes = new AimdLimiter("write", configuration.getWriteInitialLimit(), configuration.getMinLimit(),
+                configuration.getWriteMaxLimit(), configuration.getBackoffRatio(), configuration.getWriteLatencyThreshold());
+    }
+
+    public AimdLimiter getReads() {
+        return reads;
+    }
+
+    public AimdLimiter getWrites() {
+        return writes;
+    }
+
+    public List<AimdLimiter> getAll() {
+        return List.of(reads, writes);
+    }
+}
@@ -0,0 +1,61 @@
+package org.agilemonkeys.customer.execution;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs at most a fixed number of tasks at the same time on the delegate executor.
+ * <p>
+ * Meant for virtual threads: tasks beyond the limit park on a fair semaphore, which costs
+ * nothing on a virtual thread, instead of all of them racing for a JDBC connection and
+ * pinning carrier threads inside the driver.
+ */
+class ConnectionBoundExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    ConnectionBoundExecutorService(ExecutorService delegate, int maxConcurrentTasks) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentTasks, true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,25 @@
+package org.agilemonkeys.customer.execution;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("customer.execution")
+public class CustomerExecutionConfiguration {
+    private ExecutionMode mode = ExecutionMode.IO;
+    private int maxQueuedRequests = 1000;
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ExecutionMode mode) {
+        this.mode = mode;
+    }
+
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    public void setMaxQueuedRequests(int maxQueuedRequests) {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+}
@@ -0,0 +1,15 @@
+package org.agilemonkeys.customer.execution;
+
+/**
+ * Where blocking request handlers run.
+ */
+public enum ExecutionMode {
+    /**
+     * On the Micronaut IO thread pool.
+     */
+    IO,
+    /**
+     * On a new virtual thread per request. Needs Java 21, falls back to {@link #IO} otherwise.
+     */
+    VIRTUAL
+}
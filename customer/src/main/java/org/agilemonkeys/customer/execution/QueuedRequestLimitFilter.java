@@ -0,0 +1,55 @@
+package org.agilemonkeys.customer.execution;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.error.CustomError;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the customer requests in flight when handlers run on virtual threads.
+ * <p>
+ * Virtual threads remove the thread pool as a limit, so without this a burst would queue an
+ * unbounded number of requests behind the connection pool. Once the connection pool size plus
+ * customer.execution.max-queued-requests are in flight, new requests get an immediate 503.
+ */
+@Filter("/customers/**")
+public class QueuedRequestLimitFilter implements HttpServerFilter {
+    private final boolean enabled;
+    private final int maxRequestsInFlight;
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+
+    @Inject
+    public QueuedRequestLimitFilter(CustomerExecutionConfiguration configuration,
+                                    @Value("${datasources.default.maximum-pool-size:10}") int connectionPoolSize) {
+        this.enabled = configuration.getMode() == ExecutionMode.VIRTUAL;
+        this.maxRequestsInFlight = connectionPoolSize + configuration.getMaxQueuedRequests();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!enabled)
+            return chain.proceed(request);
+
+        if (requestsInFlight.incrementAndGet() > maxRequestsInFlight) {
+            requestsInFlight.decrementAndGet();
+            return Publishers.just(HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new CustomError("The service is overloaded, retry later.")));
+        }
+
+        return Flux.from(chain.proceed(request))
+                .doFinally(signal -> requestsInFlight.decrementAndGet());
+    }
+}
@@ -0,0 +1,120 @@
+package org.agilemonkeys.customer.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.error.CustomError;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs each request with a given Idempotency-Key once, and replays its response to the retries.
+ * <p>
+ * Keys are held in a bounded Caffeine cache (customer.idempotency.maximum-size), for
+ * customer.idempotency.expire-after-write from the first attempt. The first attempt inserts an
+ * in-flight marker; a concurrent retry waits for it, up to customer.idempotency.in-flight-timeout.
+ * A failed attempt is forgotten, so it can be retried, and its waiting retries get the same error.
+ * <p>
+ * Keys are per instance: a retry reaching another instance runs again.
+ */
+@Singleton
+public class IdempotencyStore {
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final boolean enabled;
+    private final Duration inFlightTimeout;
+    private final Cache<String, Attempt> attempts;
+
+    @Inject
+    public IdempotencyStore(IdempotencyConfiguration configuration) {
+        this.enabled = configuration.isEnabled();
+        this.inFlightTimeout = configuration.getInFlightTimeout();
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaximumSize())
+                .expireAfterWrite(configuration.getExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Run an action once per key.
+     *
+     * @param key         the Idempotency-Key of the request
+     * @param fingerprint identifies the request, a key can not be reused with a different one
+     * @param action      produces the response
+     * @return the response of the first attempt with this key
+     * @throws HttpStatusException 400 if the key is not valid, 422 if it was used for a different
+     *                             request, 409 if the first attempt is still running after the timeout
+     */
+    public <T> IdempotentResponse<T> execute(String key, String fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST,
+                    new CustomError("The Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters."));
+
+        if (!enabled)
+            return new IdempotentResponse<>(action.get(), false);
+
+        var attempt = new Attempt(fingerprint);
+        var firstAttempt = attempts.asMap().putIfAbsent(key, attempt);
+        if (firstAttempt == null)
+            return new IdempotentResponse<>(run(key, attempt, action), false);
+
+        if (!firstAttempt.fingerprint.equals(fingerprint))
+            throw new HttpStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    new CustomError("The Idempotency-Key was already used for a different request."));
+
+        return new IdempotentResponse<>(awaitResponse(firstAttempt), true);
+    }
+
+    private <T> T run(String key, Attempt attempt, Supplier<T> action) {
+        try {
+            var response = action.get();
+            attempt.response.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            // Errors too, or retries would wait for an attempt that never completes until it expires
+            attempts.asMap().remove(key, attempt);
+            attempt.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T awaitResponse(Attempt firstAttempt) {
+        try {
+            return (T) firstAttempt.response.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private static HttpStatusException inProgress() {
+        return new HttpStatusException(HttpStatus.CONFLICT,
+                new CustomError("A request with the same Idempotency-Key is still in progress, retry later."));
+    }
+
+    private static final class Attempt {
+        private final String fingerprint;
+        private final CompletableFuture<Object> response = new CompletableFuture<>();
+
+        private Attempt(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.agilemonkeys.customer.idempotency;
+
+/**
+ * The response to a request with an Idempotency-Key, and whether it was replayed from an earlier attempt.
+ */
+public class IdempotentResponse<T> {
+    private final T body;
+    private final boolean replayed;
+
+    public IdempotentResponse(T body, boolean replayed) {
+        this.body = body;
+        this.replayed = replayed;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
@@ -1,7 +1,128 @@
 package org.agilemonkeys.customer.mapper;
 
-import com.github.dozermapper.core.Mapper;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.metrics.Measured;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.entity.ReactiveCustomerEntity;
+import org.mapstruct.AnnotateWith;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
+/**
+ * Customer mappings. The implementation is generated at compile time by MapStruct,
+ * so no reflection is involved when mapping. The generated bean is {@link Measured}.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.JAKARTA)
+@AnnotateWith(value = Measured.class, elements = @AnnotateWith.Element(strings = "customer.mapper"))
 public interface MapperService {
-    Mapper getMapper();
+
+    /**
+     * Build a new Customer Entity from a Save Customer request
+     *
+     * @param saveCustomerRequest the request object
+     * @return the Customer entity object
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedDate", ignore = true)
+    @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    CustomerEntity toCustomerEntity(SaveCustomerRequest saveCustomerRequest);
+
+    /**
+     * Build a Customer object from a CustomerEntity object
+     *
+     * @param customerEntity the customer entity object to be mapped
+     * @return the Customer object
+     */
+    @Mapping(target = "customerId", source = "id")
+    Customer toCustomer(CustomerEntity customerEntity);
+
+    /**
+     * Copy the fields of a Save Customer request over an existing Customer Entity
+     *
+     * @param saveCustomerRequest the request object
+     * @param customerEntity      the customer entity to be updated
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedDate", ignore = true)
+    @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateCustomerEntity(SaveCustomerRequest saveCustomerRequest, @MappingTarget CustomerEntity customerEntity);
+
+    /**
+     * Copy the non null fields of a Patch Customer request over an existing Customer Entity
+     *
+     * @param patchCustomerRequest the request object
+     * @param customerEntity       the customer entity to be updated
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedDate", ignore = true)
+    @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void patchCustomerEntity(PatchCustomerRequest patchCustomerRequest, @MappingTarget CustomerEntity customerEntity);
+
+    /**
+     * Build a new Reactive Customer Entity from a Save Customer request
+     *
+     * @param saveCustomerRequest the request object
+     * @return the Reactive Customer entity object
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedDate", ignore = true)
+    @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    ReactiveCustomerEntity toReactiveCustomerEntity(SaveCustomerRequest saveCustomerRequest);
+
+    /**
+     * Build a Customer object from a ReactiveCustomerEntity object
+     *
+     * @param customerEntity the reactive customer entity object to be mapped
+     * @return the Customer object
+     */
+    @Mapping(target = "customerId", source = "id")
+    Customer toCustomer(ReactiveCustomerEntity customerEntity);
+
+    /**
+     * Copy the fields of a Save Customer request over an existing Reactive Customer Entity
+     *
+     * @param saveCustomerRequest the request object
+     * @param customerEntity      the reactive customer entity to be updated
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedDate", ignore = true)
+    @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateCustomerEntity(SaveCustomerRequest saveCustomerRequest, @MappingTarget ReactiveCustomerEntity customerEntity);
+
+    /**
+     * Copy the non null fields of a Patch Customer request over an existing Reactive Customer Entity
+     *
+     * @param patchCustomerRequest the request object
+     * @param customerEntity       the reactive customer entity to be updated
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "updatedDate", ignore = true)
+    @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void patchCustomerEntity(PatchCustomerRequest patchCustomerRequest, @MappingTarget ReactiveCustomerEntity customerEntity);
 }
@@ -0,0 +1,40 @@
+package org.agilemonkeys.customer.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+@Factory
+public class CustomerMeterFilterFactory {
+
+    /**
+     * Timers published with histogram buckets, so latency percentiles can be aggregated across
+     * instances (histogram_quantile in Prometheus).
+     */
+    static final List<String> HISTOGRAM_TIMERS = List.of(
+            "http.server.requests",
+            "customer.service",
+            "customer.dao",
+            "customer.mapper",
+            "hikaricp.connections.acquire");
+
+    @Singleton
+    public MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAM_TIMERS.contains(id.getName()))
+                    return config;
+
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package org.agilemonkeys.customer.metrics;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the time of every public method call of the annotated bean in a timer with the given
+ * name, tagged with the class, the method and the outcome. See {@link MeasuredInterceptor}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface Measured {
+
+    /**
+     * @return The timer name
+     */
+    String value();
+}
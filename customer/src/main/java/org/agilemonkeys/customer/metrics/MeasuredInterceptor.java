@@ -0,0 +1,102 @@
+package org.agilemonkeys.customer.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptedMethod;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times the methods of {@link Measured} beans.
+ * <p>
+ * Synchronous methods are timed until they return. Methods returning a publisher are timed
+ * until the publisher terminates, so streams and reactive calls include the database time.
+ * A method's timers are registered once per outcome and reused, not rebuilt on every call.
+ */
+@Singleton
+@InterceptorBean(Measured.class)
+@Requires(beans = MeterRegistry.class)
+public class MeasuredInterceptor implements MethodInterceptor<Object, Object> {
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+    private static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ExecutableMethod<?, ?>, Optional<MethodTimers>> methodTimers = new ConcurrentHashMap<>();
+
+    @Inject
+    public MeasuredInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        var timers = methodTimers.computeIfAbsent(context.getExecutableMethod(),
+                method -> context.stringValue(Measured.class).map(metricName -> new MethodTimers(metricName, context)))
+                .orElse(null);
+        if (timers == null)
+            return context.proceed();
+
+        var interceptedMethod = InterceptedMethod.of(context);
+        var sample = Timer.start(meterRegistry);
+        try {
+            if (interceptedMethod.resultType() == InterceptedMethod.ResultType.PUBLISHER) {
+                return interceptedMethod.handleResult(Flux.from(interceptedMethod.interceptResultAsPublisher())
+                        .doFinally(signal -> sample.stop(timers.get(outcome(signal)))));
+            }
+
+            var result = interceptedMethod.interceptResult();
+            sample.stop(timers.get(SUCCESS));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(timers.get(ERROR));
+            throw e;
+        }
+    }
+
+    private static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_ERROR:
+                return ERROR;
+            case CANCEL:
+                return CANCELLED;
+            default:
+                return SUCCESS;
+        }
+    }
+
+    /**
+     * The timers of a method, one per outcome, each registered the first time it is needed.
+     */
+    private final class MethodTimers {
+        private final String metricName;
+        private final String className;
+        private final String methodName;
+        private final Map<String, Timer> byOutcome = new ConcurrentHashMap<>();
+
+        private MethodTimers(String metricName, MethodInvocationContext<Object, Object> context) {
+            this.metricName = metricName;
+            this.className = context.getDeclaringType().getSimpleName();
+            this.methodName = context.getMethodName();
+        }
+
+        private Timer get(String outcome) {
+            return byOutcome.computeIfAbsent(outcome, o -> Timer.builder(metricName)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", o)
+                    .register(meterRegistry));
+        }
+    }
+}
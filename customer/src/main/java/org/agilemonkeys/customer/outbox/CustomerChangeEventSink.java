@@ -0,0 +1,19 @@
+package org.agilemonkeys.customer.outbox;
+
+import org.agilemonkeys.customer.api.CustomerChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the published customer changes, selected with customer.outbox.sink.
+ */
+public interface CustomerChangeEventSink {
+
+    /**
+     * Hands over a batch of events, in order. Must only return once the sink has them; throwing
+     * leaves the batch in the outbox to be published again.
+     *
+     * @param events the events, oldest first
+     */
+    void publish(List<CustomerChangeEvent> events);
+}
@@ -0,0 +1,91 @@
+package org.agilemonkeys.customer.outbox;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.type.Argument;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerChangeEvent;
+import org.agilemonkeys.customer.persistence.entity.CustomerOutboxEventEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox in the background, off the request path.
+ * <p>
+ * Every poll publishes the pending events in batches, oldest first, and only deletes a batch once
+ * the sink accepted it. A failure leaves the batch in place to be published again on the next
+ * poll: delivery is at least once, and as a batch is never skipped the events of a customer keep
+ * their order.
+ */
+@Singleton
+@Requires(property = "customer.outbox.enabled", notEquals = "false")
+public class CustomerOutboxPublisher {
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerOutboxPublisher.class);
+
+    private final CustomerOutboxRepository customerOutboxRepository;
+    private final CustomerChangeEventSink sink;
+    private final JsonMapper jsonMapper;
+    private final CustomerOutboxConfiguration configuration;
+
+    @Inject
+    public CustomerOutboxPublisher(CustomerOutboxRepository customerOutboxRepository, CustomerChangeEventSink sink,
+                                   JsonMapper jsonMapper, CustomerOutboxConfiguration configuration) {
+        this.customerOutboxRepository = customerOutboxRepository;
+        this.sink = sink;
+        this.jsonMapper = jsonMapper;
+        this.configuration = configuration;
+    }
+
+    @Scheduled(fixedDelay = "${customer.outbox.poll-interval:1s}", initialDelay = "${customer.outbox.poll-interval:1s}")
+    public synchronized void publishPending() {
+        try {
+            for (int batch = 0; batch < configuration.getMaxBatchesPerPoll(); batch++) {
+                if (publishBatch() < configuration.getBatchSize())
+                    return;
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Customer change events could not be published, retrying on the next poll", e);
+        }
+    }
+
+    /**
+     * @return the number of events published
+     */
+    private int publishBatch() {
+        var outboxEvents = customerOutboxRepository.findByIdGreaterThanOrderById(0L, Pageable.from(0, configuration.getBatchSize()));
+        if (outboxEvents.isEmpty())
+            return 0;
+
+        var events = new ArrayList<CustomerChangeEvent>(outboxEvents.size());
+        for (var outboxEvent : outboxEvents)
+            events.add(toEvent(outboxEvent));
+        sink.publish(events);
+
+        customerOutboxRepository.deleteByIdIn(outboxEvents.stream().map(CustomerOutboxEventEntity::getId).collect(Collectors.toList()));
+        return outboxEvents.size();
+    }
+
+    private CustomerChangeEvent toEvent(CustomerOutboxEventEntity outboxEvent) {
+        var event = new CustomerChangeEvent();
+        event.setEventId(outboxEvent.getId());
+        event.setType(outboxEvent.getType());
+        event.setCustomerId(outboxEvent.getCustomerId());
+        event.setOccurredAt(outboxEvent.getCreatedDate());
+        try {
+            event.setCustomer(jsonMapper.readValue(outboxEvent.getPayload(), Argument.of(Customer.class)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return event;
+    }
+}
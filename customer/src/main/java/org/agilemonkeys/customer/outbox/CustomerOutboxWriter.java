@@ -0,0 +1,67 @@
+package org.agilemonkeys.customer.outbox;
+
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.CustomerChangeType;
+import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.entity.CustomerOutboxEventEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerOutboxRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records customer changes in the outbox table. Must be called inside the transaction that makes
+ * the change, so the event is stored if and only if the change is committed.
+ * <p>
+ * Does nothing with customer.outbox.enabled false, as no publisher would ever drain the table.
+ */
+@Singleton
+public class CustomerOutboxWriter {
+    private final CustomerOutboxRepository customerOutboxRepository;
+    private final MapperService mapperService;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+
+    @Inject
+    public CustomerOutboxWriter(CustomerOutboxRepository customerOutboxRepository, MapperService mapperService,
+                                JsonMapper jsonMapper, CustomerOutboxConfiguration configuration) {
+        this.customerOutboxRepository = customerOutboxRepository;
+        this.mapperService = mapperService;
+        this.jsonMapper = jsonMapper;
+        this.enabled = configuration.isEnabled();
+    }
+
+    public void append(CustomerChangeType type, CustomerEntity customerEntity) {
+        if (!enabled)
+            return;
+
+        customerOutboxRepository.save(toOutboxEvent(type, customerEntity));
+    }
+
+    public void appendAll(CustomerChangeType type, List<CustomerEntity> customerEntities) {
+        if (!enabled)
+            return;
+
+        var outboxEvents = new ArrayList<CustomerOutboxEventEntity>(customerEntities.size());
+        for (var customerEntity : customerEntities)
+            outboxEvents.add(toOutboxEvent(type, customerEntity));
+        customerOutboxRepository.saveAll(outboxEvents);
+    }
+
+    private CustomerOutboxEventEntity toOutboxEvent(CustomerChangeType type, CustomerEntity customerEntity) {
+        var outboxEvent = new CustomerOutboxEventEntity();
+        outboxEvent.setCustomerId(customerEntity.getId());
+        outboxEvent.setType(type);
+        try {
+            outboxEvent.setPayload(jsonMapper.writeValueAsString(mapperService.toCustomer(customerEntity)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,58 @@
+package org.agilemonkeys.customer.outbox;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.CustomerChangeEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the events as newline delimited JSON to customer.outbox.file, synced to disk before the
+ * batch is acknowledged.
+ */
+@Singleton
+@Requires(property = "customer.outbox.sink", value = "FILE")
+public class FileCustomerChangeEventSink implements CustomerChangeEventSink {
+    private final JsonMapper jsonMapper;
+    private final FileChannel channel;
+
+    @Inject
+    public FileCustomerChangeEventSink(JsonMapper jsonMapper, CustomerOutboxConfiguration configuration) throws IOException {
+        this.jsonMapper = jsonMapper;
+        var file = configuration.getFile().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<CustomerChangeEvent> events) {
+        try {
+            var lines = new ByteArrayOutputStream();
+            for (var event : events) {
+                lines.write(jsonMapper.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+            var buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,28 @@
+package org.agilemonkeys.customer.outbox;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.CustomerChangeEvent;
+
+import java.util.List;
+
+/**
+ * Publishes the events as application events, for listeners running in the same process.
+ */
+@Singleton
+@Requires(property = "customer.outbox.sink", value = "IN_PROCESS", defaultValue = "IN_PROCESS")
+public class InProcessCustomerChangeEventSink implements CustomerChangeEventSink {
+    private final ApplicationEventPublisher<CustomerChangeEvent> eventPublisher;
+
+    @Inject
+    public InProcessCustomerChangeEventSink(ApplicationEventPublisher<CustomerChangeEvent> eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<CustomerChangeEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,54 @@
+package org.agilemonkeys.customer.persistence.cache;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("customer.second-level-cache")
+public class SecondLevelCacheConfiguration {
+    private boolean enabled = true;
+    private boolean statistics = true;
+    private long entityMaximumSize = 10_000;
+    private long queryMaximumSize = 1_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(boolean statistics) {
+        this.statistics = statistics;
+    }
+
+    public long getEntityMaximumSize() {
+        return entityMaximumSize;
+    }
+
+    public void setEntityMaximumSize(long entityMaximumSize) {
+        this.entityMaximumSize = entityMaximumSize;
+    }
+
+    public long getQueryMaximumSize() {
+        return queryMaximumSize;
+    }
+
+    public void setQueryMaximumSize(long queryMaximumSize) {
+        this.queryMaximumSize = queryMaximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+}
@@ -0,0 +1,119 @@
+package org.agilemonkeys.customer.persistence.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micronaut.configuration.hibernate.jpa.JpaConfiguration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Sets up the Hibernate second-level cache: a Caffeine JCache region per cached entity and
+ * query, each with its own size limit, handed to Hibernate before the session factory is built.
+ * <p>
+ * Only for the blocking stack: the reactive stack writes through R2DBC, behind Hibernate's back,
+ * so cached entries would go stale.
+ */
+@Singleton
+@Requires(property = "customer.stack", value = "BLOCKING", defaultValue = "BLOCKING")
+public class SecondLevelCacheConfigurer implements BeanCreatedEventListener<JpaConfiguration> {
+
+    private final SecondLevelCacheConfiguration configuration;
+    private final Map<String, Long> regionMaximumSizes = new LinkedHashMap<>();
+    private CacheManager cacheManager;
+
+    @Inject
+    public SecondLevelCacheConfigurer(SecondLevelCacheConfiguration configuration) {
+        this.configuration = configuration;
+        regionMaximumSizes.put(CustomerEntity.CACHE_REGION, configuration.getEntityMaximumSize());
+        regionMaximumSizes.put(CustomerRepository.BY_DOCUMENT_ID_CACHE_REGION, configuration.getQueryMaximumSize());
+        regionMaximumSizes.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, configuration.getQueryMaximumSize());
+    }
+
+    @Override
+    public JpaConfiguration onCreated(BeanCreatedEvent<JpaConfiguration> event) {
+        var jpaConfiguration = event.getBean();
+        var properties = new HashMap<>(jpaConfiguration.getProperties());
+        properties.put(AvailableSettings.GENERATE_STATISTICS, configuration.isStatistics());
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, configuration.isEnabled());
+        properties.put(AvailableSettings.USE_QUERY_CACHE, configuration.isEnabled());
+        if (configuration.isEnabled()) {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", getCacheManager());
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        }
+        jpaConfiguration.setProperties(properties);
+        return jpaConfiguration;
+    }
+
+    /**
+     * The size limit of every region, by region name.
+     */
+    public Map<String, Long> getRegionMaximumSizes() {
+        return regionMaximumSizes;
+    }
+
+    /**
+     * The number of entries currently held in a region, if the cache is enabled.
+     */
+    public Optional<Long> estimatedSize(String region) {
+        if (cacheManager == null || cacheManager.getCache(region) == null)
+            return Optional.empty();
+
+        return Optional.of(cacheManager.getCache(region)
+                .unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+                .estimatedSize());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (cacheManager != null)
+            cacheManager.close();
+    }
+
+    /**
+     * One cache manager per application context, so contexts sharing a JVM (tests) do not share
+     * cached entities.
+     */
+    private synchronized CacheManager getCacheManager() {
+        if (cacheManager != null)
+            return cacheManager;
+
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(URI.create("customer-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        regionMaximumSizes.forEach((region, maximumSize) ->
+                cacheManager.createCache(region, regionConfiguration(OptionalLong.of(maximumSize))));
+        // Last write time of each table, checked before using a cached query result: must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong maximumSize) {
+        var regionConfiguration = new CaffeineConfiguration<>();
+        regionConfiguration.setMaximumSize(maximumSize);
+        if (maximumSize.isPresent())
+            regionConfiguration.setExpireAfterWrite(OptionalLong.of(configuration.getExpireAfterWrite().toNanos()));
+        // Hibernate already stores disassembled, immutable entries: no need to copy them
+        regionConfiguration.setStoreByValue(false);
+        regionConfiguration.setStatisticsEnabled(configuration.isStatistics());
+        return regionConfiguration;
+    }
+}
@@ -0,0 +1,63 @@
+package org.agilemonkeys.customer.persistence.cache;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the Hibernate second-level cache regions, with their limits and counters, at /secondlevelcache.
+ */
+@Endpoint(id = "secondlevelcache", defaultSensitive = false)
+@Requires(beans = SecondLevelCacheConfigurer.class)
+public class SecondLevelCacheEndpoint {
+    private final SecondLevelCacheConfiguration configuration;
+    private final SecondLevelCacheConfigurer configurer;
+    private final SessionFactory sessionFactory;
+
+    @Inject
+    public SecondLevelCacheEndpoint(SecondLevelCacheConfiguration configuration, SecondLevelCacheConfigurer configurer,
+                                    SessionFactory sessionFactory) {
+        this.configuration = configuration;
+        this.configurer = configurer;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        var statistics = sessionFactory.getStatistics();
+        var regions = new LinkedHashMap<String, Object>();
+        configurer.getRegionMaximumSizes().forEach((region, maximumSize) -> {
+            var regionStatistics = CustomerEntity.CACHE_REGION.equals(region)
+                    ? statistics.getDomainDataRegionStatistics(region)
+                    : statistics.getQueryRegionStatistics(region);
+            regions.put(region, regionStats(region, maximumSize, regionStatistics));
+        });
+
+        var result = new LinkedHashMap<String, Object>();
+        result.put("enabled", configuration.isEnabled());
+        result.put("statistics", statistics.isStatisticsEnabled());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("regions", regions);
+        return result;
+    }
+
+    private Map<String, Object> regionStats(String region, long maximumSize, CacheRegionStatistics regionStatistics) {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("maximumSize", maximumSize);
+        configurer.estimatedSize(region).ifPresent(size -> result.put("size", size));
+        if (regionStatistics != null) {
+            result.put("hits", regionStatistics.getHitCount());
+            result.put("misses", regionStatistics.getMissCount());
+            result.put("puts", regionStatistics.getPutCount());
+        }
+        return result;
+    }
+}
@@ -1,15 +1,37 @@
 package org.agilemonkeys.customer.persistence.dao;
 
+import org.agilemonkeys.customer.api.CustomerVersion;
 import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.reactivestreams.Publisher;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface CustomerDaoServiceApi {
     CustomerEntity saveCustomer(CustomerEntity customerEntity);
 
+    List<CustomerEntity> saveCustomers(List<CustomerEntity> customerEntities);
+
     Optional<CustomerEntity> findCustomerByDocumentId(String documentId);
 
+    Set<String> findExistingDocumentIds(Collection<String> documentIds);
+
     Optional<CustomerEntity> findCustomerById(Long customerId);
 
+    Optional<CustomerEntity> findLatestCustomerById(Long customerId);
+
+    Optional<CustomerVersion> findCustomerVersion(Long customerId);
+
+    Optional<CustomerEntity> updateCustomer(Long customerId, Long expectedVersion, Consumer<CustomerEntity> changes);
+
+    List<CustomerEntity> findCustomersAfter(Long customerId, int limit);
+
+    Publisher<CustomerEntity> streamCustomers(int fetchSize);
+
     void deleteCustomer(CustomerEntity customerEntity);
+
+    boolean deleteCustomer(Long customerId, Long expectedVersion);
 }
@@ -1,43 +1,265 @@
 package org.agilemonkeys.customer.persistence.dao;
 
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.transaction.annotation.ReadOnly;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
-import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerChangeType;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.metrics.Measured;
+import org.agilemonkeys.customer.outbox.CustomerOutboxWriter;
 import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
 import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 @Singleton
+@Requires(property = "customer.sharding.enabled", notEquals = "true")
+@Measured("customer.dao")
 public class CustomerDaoServiceImpl implements CustomerDaoServiceApi {
 
     private final CustomerRepository customerRepository;
+    private final SessionFactory sessionFactory;
+    private final CustomerOutboxWriter customerOutboxWriter;
+    private final Scheduler ioScheduler;
 
     @Inject
-    public CustomerDaoServiceImpl(CustomerRepository customerRepository) {
+    public CustomerDaoServiceImpl(CustomerRepository customerRepository, SessionFactory sessionFactory,
+                                  CustomerOutboxWriter customerOutboxWriter,
+                                  @Named(TaskExecutors.IO) ExecutorService ioExecutor) {
         this.customerRepository = customerRepository;
+        this.sessionFactory = sessionFactory;
+        this.customerOutboxWriter = customerOutboxWriter;
+        this.ioScheduler = Schedulers.fromExecutorService(ioExecutor);
     }
 
+    /**
+     * Inserts or updates a customer, recording the change in the outbox in the same transaction.
+     *
+     * @param customerEntity the customer to be saved
+     * @return the saved customer
+     * @throws DuplicateCustomerException if another customer already has the same documentId
+     */
     @Override
+    @Transactional
     public CustomerEntity saveCustomer(CustomerEntity customerEntity) {
-        if (customerEntity.getId() == null)
-            return customerRepository.save(customerEntity);
-        else
-            return customerRepository.update(customerEntity);
+        var changeType = customerEntity.getId() == null ? CustomerChangeType.CREATED : CustomerChangeType.UPDATED;
+        CustomerEntity savedCustomer;
+        try {
+            if (changeType == CustomerChangeType.CREATED)
+                savedCustomer = customerRepository.save(customerEntity);
+            else
+                savedCustomer = customerRepository.update(customerEntity);
+            // Flushed here so a duplicate documentId is translated, and the event has the new version
+            sessionFactory.getCurrentSession().flush();
+        } catch (RuntimeException e) {
+            if (DuplicateCustomerException.isCausedByDuplicateDocumentId(e))
+                throw new DuplicateCustomerException(customerEntity.getDocumentId(), e);
+            throw e;
+        }
+        customerOutboxWriter.append(changeType, savedCustomer);
+        return savedCustomer;
     }
 
+    /**
+     * Inserts all the given customers in a single transaction, with their outbox events.
+     * <p>
+     * Ids come from the pooled customers sequence, so Hibernate can send the inserts as JDBC
+     * batches (see hibernate.jdbc.batch_size).
+     *
+     * @param customerEntities the new customers
+     * @return the saved customers, in the same order
+     */
     @Override
+    @Transactional
+    public List<CustomerEntity> saveCustomers(List<CustomerEntity> customerEntities) {
+        var savedCustomers = new ArrayList<CustomerEntity>(customerEntities.size());
+        customerRepository.saveAll(customerEntities).forEach(savedCustomers::add);
+        sessionFactory.getCurrentSession().flush();
+        customerOutboxWriter.appendAll(CustomerChangeType.CREATED, savedCustomers);
+        return savedCustomers;
+    }
+
+    @Override
+    @ReadOnly
     public Optional<CustomerEntity> findCustomerByDocumentId(String documentId) {
         return customerRepository.findByDocumentId(documentId);
     }
 
     @Override
+    @ReadOnly
+    public Set<String> findExistingDocumentIds(Collection<String> documentIds) {
+        if (documentIds.isEmpty())
+            return Set.of();
+
+        return new HashSet<>(customerRepository.findExistingDocumentIds(documentIds));
+    }
+
+    @Override
+    @ReadOnly
     public Optional<CustomerEntity> findCustomerById(Long customerId) {
         return customerRepository.findById(customerId);
     }
 
+    /**
+     * Finds a customer as last committed, for the callers that keep what they read.
+     * <p>
+     * Read from the primary, not the replica: a lagging replica row would be kept by the
+     * customer cache and the second-level cache long after the replica caught up.
+     *
+     * @param customerId the customer identifier
+     * @return the customer, empty if it does not exist
+     */
+    @Override
+    @Transactional
+    public Optional<CustomerEntity> findLatestCustomerById(Long customerId) {
+        sessionFactory.getCurrentSession().setDefaultReadOnly(true);
+        return customerRepository.findById(customerId);
+    }
+
+    /**
+     * Applies the given changes to a customer in a single transaction.
+     * <p>
+     * The customer is loaded into the persistence context, changed and flushed, so Hibernate
+     * dirty checking issues one UPDATE with only the modified columns (the entity is
+     * {@code @DynamicUpdate}). The UPDATE is guarded by the {@code @Version} column, so a
+     * concurrent writer makes it fail instead of being overwritten. The change is recorded in the
+     * outbox only if there was one, that is if the flush moved the version.
+     *
+     * @param customerId      the customer identifier
+     * @param expectedVersion the version the changes are based on, null to apply them on the current one
+     * @param changes         the changes to apply on the loaded customer
+     * @return the updated customer, empty if it does not exist
+     * @throws StaleCustomerException     if the customer is not at the expected version or was updated concurrently
+     * @throws DuplicateCustomerException if another customer already has the new documentId
+     */
+    @Override
+    @Transactional
+    public Optional<CustomerEntity> updateCustomer(Long customerId, Long expectedVersion, Consumer<CustomerEntity> changes) {
+        var customer = customerRepository.findById(customerId);
+        if (customer.isEmpty())
+            return customer;
+
+        if (expectedVersion != null && !expectedVersion.equals(customer.get().getVersion()))
+            throw new StaleCustomerException(customerId, null);
+
+        var loadedVersion = customer.get().getVersion();
+        changes.accept(customer.get());
+        try {
+            sessionFactory.getCurrentSession().flush();
+        } catch (RuntimeException e) {
+            if (DuplicateCustomerException.isCausedByDuplicateDocumentId(e))
+                throw new DuplicateCustomerException(customer.get().getDocumentId(), e);
+            if (StaleCustomerException.isCausedByConcurrentUpdate(e))
+                throw new StaleCustomerException(customerId, e);
+            throw e;
+        }
+        if (!loadedVersion.equals(customer.get().getVersion()))
+            customerOutboxWriter.append(CustomerChangeType.UPDATED, customer.get());
+        return customer;
+    }
+
+    @Override
+    @ReadOnly
+    public Optional<CustomerVersion> findCustomerVersion(Long customerId) {
+        return customerRepository.readById(customerId);
+    }
+
     @Override
+    @ReadOnly
+    public List<CustomerEntity> findCustomersAfter(Long customerId, int limit) {
+        return customerRepository.findByIdGreaterThanOrderById(customerId, Pageable.from(0, limit));
+    }
+
+    /**
+     * Streams every customer in id order.
+     * <p>
+     * Reads through a forward-only cursor of a stateless session, fetching fetchSize rows at a
+     * time, and only pulls the next row when the subscriber requests it. Nothing is kept in a
+     * persistence context, so memory does not grow with the table size.
+     *
+     * @param fetchSize the JDBC fetch size
+     * @return the customers, read on the IO executor
+     */
+    @Override
+    public Publisher<CustomerEntity> streamCustomers(int fetchSize) {
+        return Flux.using(
+                        sessionFactory::openStatelessSession,
+                        session -> Flux.using(
+                                () -> session.createQuery("select c from customers c order by c.id", CustomerEntity.class)
+                                        .setFetchSize(fetchSize)
+                                        .scroll(ScrollMode.FORWARD_ONLY),
+                                results -> Flux.<CustomerEntity>generate(sink -> {
+                                    if (results.next())
+                                        sink.next((CustomerEntity) results.get(0));
+                                    else
+                                        sink.complete();
+                                }),
+                                ScrollableResults::close),
+                        StatelessSession::close)
+                .subscribeOn(ioScheduler);
+    }
+
+    /**
+     * Deletes a customer, recording its last state in the outbox in the same transaction.
+     *
+     * @param customerEntity the customer to be deleted
+     */
+    @Override
+    @Transactional
     public void deleteCustomer(CustomerEntity customerEntity) {
         customerRepository.delete(customerEntity);
+        customerOutboxWriter.append(CustomerChangeType.DELETED, customerEntity);
+    }
+
+    /**
+     * Deletes a customer if it is still at the expected version, recording its last state in the
+     * outbox in the same transaction. The DELETE is guarded by the {@code @Version} column, so a
+     * concurrent update makes it fail instead of being lost.
+     *
+     * @param customerId      the customer identifier
+     * @param expectedVersion the version the deletion is based on, null for the current one
+     * @return whether the customer existed and was deleted
+     * @throws StaleCustomerException if the customer is not at the expected version or was updated concurrently
+     */
+    @Override
+    @Transactional
+    public boolean deleteCustomer(Long customerId, Long expectedVersion) {
+        var customer = customerRepository.findById(customerId);
+        if (customer.isEmpty())
+            return false;
+
+        if (expectedVersion != null && !expectedVersion.equals(customer.get().getVersion()))
+            throw new StaleCustomerException(customerId, null);
+
+        customerRepository.delete(customer.get());
+        try {
+            sessionFactory.getCurrentSession().flush();
+        } catch (RuntimeException e) {
+            if (StaleCustomerException.isCausedByConcurrentUpdate(e))
+                throw new StaleCustomerException(customerId, e);
+            throw e;
+        }
+        customerOutboxWriter.append(CustomerChangeType.DELETED, customer.get());
+        return true;
     }
 }
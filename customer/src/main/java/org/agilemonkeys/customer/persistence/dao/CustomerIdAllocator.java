@@ -0,0 +1,50 @@
+package org.agilemonkeys.customer.persistence.dao;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Hands out customer ids from the customers sequence the same way Hibernate's pooled optimizer
+ * does for {@link org.agilemonkeys.customer.persistence.entity.CustomerEntity}.
+ * <p>
+ * Each sequence value hi reserves the block (hi - allocationSize, hi], so ids taken here never
+ * collide with the ones Hibernate assigns, and the sequence is only hit once per block.
+ */
+class CustomerIdAllocator {
+    private final Supplier<Mono<Long>> nextSequenceValue;
+    private final int allocationSize;
+
+    // Guarded by this
+    private long nextId;
+    private long maxId = -1;
+
+    CustomerIdAllocator(Supplier<Mono<Long>> nextSequenceValue, int allocationSize) {
+        this.nextSequenceValue = nextSequenceValue;
+        this.allocationSize = allocationSize;
+    }
+
+    Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            var id = takeId();
+            if (id != null)
+                return Mono.just(id);
+
+            return nextSequenceValue.get().map(this::takeIdFromNewBlock);
+        });
+    }
+
+    private synchronized Long takeId() {
+        return nextId <= maxId ? nextId++ : null;
+    }
+
+    /**
+     * Concurrent callers may fetch a block each; the last one installed wins and the rest of the
+     * previous block is skipped, which leaves gaps but never hands out an id twice.
+     */
+    private synchronized long takeIdFromNewBlock(long hiValue) {
+        maxId = hiValue;
+        nextId = Math.max(hiValue - allocationSize + 1, 1);
+        return nextId++;
+    }
+}
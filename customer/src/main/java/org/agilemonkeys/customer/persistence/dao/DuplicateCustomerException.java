@@ -0,0 +1,30 @@
+package org.agilemonkeys.customer.persistence.dao;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Thrown when saving a customer violates the unique documentId constraint.
+ */
+public class DuplicateCustomerException extends RuntimeException {
+
+    public DuplicateCustomerException(String documentId, Throwable cause) {
+        super("A customer with documentId " + documentId + " already exists", cause);
+    }
+
+    static boolean isCausedByDuplicateDocumentId(Throwable exception) {
+        for (var cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException)
+                return namesDocumentIdConstraint(((ConstraintViolationException) cause).getConstraintName());
+            // R2DBC does not report the constraint on its own, only in the driver message
+            if (cause instanceof R2dbcDataIntegrityViolationException)
+                return namesDocumentIdConstraint(cause.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean namesDocumentIdConstraint(String text) {
+        return text != null && text.toLowerCase().contains(CustomerEntity.DOCUMENT_ID_CONSTRAINT);
+    }
+}
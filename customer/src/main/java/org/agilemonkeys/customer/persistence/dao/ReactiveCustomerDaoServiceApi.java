@@ -0,0 +1,22 @@
+package org.agilemonkeys.customer.persistence.dao;
+
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.persistence.entity.ReactiveCustomerEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerDaoServiceApi {
+    Mono<ReactiveCustomerEntity> saveCustomer(ReactiveCustomerEntity customerEntity);
+
+    Mono<ReactiveCustomerEntity> updateCustomer(ReactiveCustomerEntity customerEntity);
+
+    Mono<ReactiveCustomerEntity> findCustomerById(Long customerId);
+
+    Mono<ReactiveCustomerEntity> findCustomerByDocumentId(String documentId);
+
+    Mono<CustomerVersion> findCustomerVersion(Long customerId);
+
+    Flux<ReactiveCustomerEntity> findCustomersAfter(Long customerId, int limit);
+
+    Mono<Boolean> deleteCustomer(Long customerId, Long expectedVersion);
+}
@@ -0,0 +1,110 @@
+package org.agilemonkeys.customer.persistence.dao;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.model.Pageable;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.metrics.Measured;
+import org.agilemonkeys.customer.outbox.CustomerOutboxConfiguration;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.entity.ReactiveCustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.ReactiveCustomerRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Customer storage over R2DBC, for the reactive stack.
+ * <p>
+ * Changes are not recorded in the outbox, so the application refuses to start with both the
+ * reactive stack and customer.outbox.enabled. Created with the context to fail on startup.
+ */
+@Context
+@Requires(property = "customer.stack", value = "REACTIVE")
+@Measured("customer.dao")
+public class ReactiveCustomerDaoServiceImpl implements ReactiveCustomerDaoServiceApi {
+
+    private final ReactiveCustomerRepository customerRepository;
+    private final CustomerIdAllocator customerIdAllocator;
+
+    @Inject
+    public ReactiveCustomerDaoServiceImpl(ReactiveCustomerRepository customerRepository,
+                                          CustomerOutboxConfiguration outboxConfiguration) {
+        if (outboxConfiguration.isEnabled())
+            throw new IllegalStateException("The reactive stack does not record customer changes in the outbox, "
+                    + "set customer.outbox.enabled to false to use customer.stack REACTIVE");
+
+        this.customerRepository = customerRepository;
+        this.customerIdAllocator = new CustomerIdAllocator(customerRepository::nextIdSequenceValue,
+                CustomerEntity.ID_ALLOCATION_SIZE);
+    }
+
+    /**
+     * Inserts a new customer, with an id taken from the customers sequence.
+     *
+     * @param customerEntity the customer to be saved
+     * @return the saved customer
+     * @throws DuplicateCustomerException if another customer already has the same documentId
+     */
+    @Override
+    public Mono<ReactiveCustomerEntity> saveCustomer(ReactiveCustomerEntity customerEntity) {
+        return customerIdAllocator.nextId()
+                .flatMap(customerId -> {
+                    customerEntity.setId(customerId);
+                    return customerRepository.save(customerEntity);
+                })
+                .onErrorMap(DuplicateCustomerException::isCausedByDuplicateDocumentId,
+                        e -> new DuplicateCustomerException(customerEntity.getDocumentId(), e));
+    }
+
+    /**
+     * Updates a customer with a single UPDATE guarded by its version.
+     *
+     * @param customerEntity the customer, as loaded plus the changes
+     * @return the updated customer
+     * @throws StaleCustomerException     if the customer was updated since it was loaded
+     * @throws DuplicateCustomerException if another customer already has the new documentId
+     */
+    @Override
+    public Mono<ReactiveCustomerEntity> updateCustomer(ReactiveCustomerEntity customerEntity) {
+        return customerRepository.update(customerEntity)
+                .onErrorMap(DuplicateCustomerException::isCausedByDuplicateDocumentId,
+                        e -> new DuplicateCustomerException(customerEntity.getDocumentId(), e))
+                .onErrorMap(StaleCustomerException::isCausedByConcurrentUpdate,
+                        e -> new StaleCustomerException(customerEntity.getId(), e));
+    }
+
+    @Override
+    public Mono<ReactiveCustomerEntity> findCustomerById(Long customerId) {
+        return customerRepository.findById(customerId);
+    }
+
+    @Override
+    public Mono<ReactiveCustomerEntity> findCustomerByDocumentId(String documentId) {
+        return customerRepository.findByDocumentId(documentId);
+    }
+
+    @Override
+    public Mono<CustomerVersion> findCustomerVersion(Long customerId) {
+        return customerRepository.readById(customerId);
+    }
+
+    @Override
+    public Flux<ReactiveCustomerEntity> findCustomersAfter(Long customerId, int limit) {
+        return customerRepository.findByIdGreaterThanOrderById(customerId, Pageable.from(0, limit));
+    }
+
+    /**
+     * Deletes a customer with a single DELETE, guarded by its version when one is expected.
+     *
+     * @param customerId      the customer identifier
+     * @param expectedVersion the version the deletion is based on, null for the current one
+     * @return whether a customer was deleted
+     */
+    @Override
+    public Mono<Boolean> deleteCustomer(Long customerId, Long expectedVersion) {
+        var deleted = expectedVersion == null ? customerRepository.deleteById(customerId)
+                : customerRepository.deleteByIdAndVersion(customerId, expectedVersion);
+        return deleted.map(count -> count > 0);
+    }
+}
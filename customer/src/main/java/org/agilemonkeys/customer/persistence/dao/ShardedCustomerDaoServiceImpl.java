@@ -0,0 +1,308 @@
+package org.agilemonkeys.customer.persistence.dao;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.metrics.Measured;
+import org.agilemonkeys.customer.outbox.CustomerOutboxConfiguration;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.sharding.CustomerShards;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Customer storage spread over the {@link CustomerShards}.
+ * <p>
+ * Operations by id go to the shard encoded in the id. Customers stay on the shard they were
+ * created on, so a documentId lookup tries the shard of its hash first and only asks the others
+ * when it is not there (a customer whose documentId changed). Listings and exports query every
+ * shard in parallel and merge the results in id order.
+ * <p>
+ * Each shard commits on its own: a batch spanning shards is not atomic, and documentId
+ * uniqueness is only enforced by the database within a shard. Changes are not recorded in the
+ * outbox, so the application refuses to start with both sharding and customer.outbox.enabled.
+ */
+@Singleton
+@Requires(property = "customer.sharding.enabled", value = "true")
+@Measured("customer.dao")
+public class ShardedCustomerDaoServiceImpl implements CustomerDaoServiceApi {
+    private static final Comparator<CustomerEntity> BY_ID = Comparator.comparing(CustomerEntity::getId);
+
+    private final CustomerShards shards;
+    private final Scheduler ioScheduler;
+
+    @Inject
+    public ShardedCustomerDaoServiceImpl(CustomerShards shards, @Named(TaskExecutors.IO) ExecutorService ioExecutor,
+                                         CustomerOutboxConfiguration outboxConfiguration) {
+        if (outboxConfiguration.isEnabled())
+            throw new IllegalStateException("Sharding does not record customer changes in the outbox, "
+                    + "set customer.outbox.enabled to false to enable customer.sharding");
+
+        this.shards = shards;
+        this.ioScheduler = Schedulers.fromExecutorService(ioExecutor);
+    }
+
+    /**
+     * Inserts a customer on the shard of its documentId, or updates it on its own shard.
+     *
+     * @param customerEntity the customer to be saved
+     * @return the saved customer
+     * @throws DuplicateCustomerException if another customer already has the same documentId
+     */
+    @Override
+    public CustomerEntity saveCustomer(CustomerEntity customerEntity) {
+        var created = customerEntity.getId() == null;
+        var shard = created ? shards.shardFor(customerEntity.getDocumentId()) : shards.shardOf(customerEntity.getId());
+        try {
+            return shards.inTransaction(shard, session -> {
+                CustomerEntity savedCustomer;
+                if (created) {
+                    session.persist(customerEntity);
+                    savedCustomer = customerEntity;
+                } else {
+                    savedCustomer = (CustomerEntity) session.merge(customerEntity);
+                }
+                session.flush();
+                return savedCustomer;
+            });
+        } catch (RuntimeException e) {
+            if (DuplicateCustomerException.isCausedByDuplicateDocumentId(e))
+                throw new DuplicateCustomerException(customerEntity.getDocumentId(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts the customers grouped by shard, one transaction per shard, the shards in parallel.
+     *
+     * @param customerEntities the new customers
+     * @return the saved customers, in the same order
+     */
+    @Override
+    public List<CustomerEntity> saveCustomers(List<CustomerEntity> customerEntities) {
+        var customersByShard = new TreeMap<Integer, List<CustomerEntity>>();
+        for (var customerEntity : customerEntities)
+            customersByShard.computeIfAbsent(shards.shardFor(customerEntity.getDocumentId()), shard -> new ArrayList<>())
+                    .add(customerEntity);
+
+        shards.inParallel(customersByShard.entrySet().stream()
+                .map(shardCustomers -> (Supplier<Void>) () -> shards.inTransaction(shardCustomers.getKey(), session -> {
+                    shardCustomers.getValue().forEach(session::persist);
+                    session.flush();
+                    return null;
+                }))
+                .collect(Collectors.toList()));
+        return new ArrayList<>(customerEntities);
+    }
+
+    @Override
+    public Optional<CustomerEntity> findCustomerByDocumentId(String documentId) {
+        var hashShard = shards.shardFor(documentId);
+        var customer = shards.inReadOnlyTransaction(hashShard, session -> findByDocumentId(session, documentId));
+        if (customer.isPresent())
+            return customer;
+
+        return onShards(IntStream.range(0, shards.getShardCount()).filter(shard -> shard != hashShard),
+                session -> findByDocumentId(session, documentId))
+                .stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    @Override
+    public Set<String> findExistingDocumentIds(Collection<String> documentIds) {
+        if (documentIds.isEmpty())
+            return Set.of();
+
+        var existingDocumentIds = new HashSet<String>();
+        onAllShards(session -> session.createQuery("select c.documentId from customers c where c.documentId in (:documentIds)", String.class)
+                .setParameterList("documentIds", documentIds)
+                .list())
+                .forEach(existingDocumentIds::addAll);
+        return existingDocumentIds;
+    }
+
+    @Override
+    public Optional<CustomerEntity> findCustomerById(Long customerId) {
+        return shards.inReadOnlyTransaction(shards.shardOf(customerId),
+                session -> Optional.ofNullable(session.get(CustomerEntity.class, customerId)));
+    }
+
+    /**
+     * Shards have no replicas, so the same as {@link #findCustomerById}.
+     */
+    @Override
+    public Optional<CustomerEntity> findLatestCustomerById(Long customerId) {
+        return findCustomerById(customerId);
+    }
+
+    /**
+     * Same as {@link CustomerDaoServiceImpl#updateCustomer}, on the customer's shard.
+     */
+    @Override
+    public Optional<CustomerEntity> updateCustomer(Long customerId, Long expectedVersion, Consumer<CustomerEntity> changes) {
+        return shards.inTransaction(shards.shardOf(customerId), session -> {
+            var customer = session.get(CustomerEntity.class, customerId);
+            if (customer == null)
+                return Optional.empty();
+
+            if (expectedVersion != null && !expectedVersion.equals(customer.getVersion()))
+                throw new StaleCustomerException(customerId, null);
+
+            changes.accept(customer);
+            try {
+                session.flush();
+            } catch (RuntimeException e) {
+                if (DuplicateCustomerException.isCausedByDuplicateDocumentId(e))
+                    throw new DuplicateCustomerException(customer.getDocumentId(), e);
+                if (StaleCustomerException.isCausedByConcurrentUpdate(e))
+                    throw new StaleCustomerException(customerId, e);
+                throw e;
+            }
+            return Optional.of(customer);
+        });
+    }
+
+    @Override
+    public Optional<CustomerVersion> findCustomerVersion(Long customerId) {
+        return shards.inReadOnlyTransaction(shards.shardOf(customerId), session -> session
+                .createQuery("select c.version, c.updatedDate from customers c where c.id = :id", Object[].class)
+                .setParameter("id", customerId)
+                .uniqueResultOptional()
+                .map(row -> {
+                    var customerVersion = new CustomerVersion();
+                    customerVersion.setVersion((Long) row[0]);
+                    customerVersion.setUpdatedDate((Instant) row[1]);
+                    return customerVersion;
+                }));
+    }
+
+    /**
+     * Keyset pagination over every shard: each returns its first limit customers after the given
+     * id, and the page is the first limit of their merge.
+     */
+    @Override
+    public List<CustomerEntity> findCustomersAfter(Long customerId, int limit) {
+        return onAllShards(session -> session
+                .createQuery("select c from customers c where c.id > :id order by c.id", CustomerEntity.class)
+                .setParameter("id", customerId)
+                .setMaxResults(limit)
+                .list())
+                .stream()
+                .flatMap(List::stream)
+                .sorted(BY_ID)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams every customer in id order, merging a cursor per shard. The shards are read in
+     * parallel, and each only as fast as the subscriber requests.
+     *
+     * @param fetchSize the JDBC fetch size
+     * @return the customers, read on the IO executor
+     */
+    @Override
+    public Publisher<CustomerEntity> streamCustomers(int fetchSize) {
+        @SuppressWarnings("unchecked")
+        Publisher<CustomerEntity>[] shardStreams = IntStream.range(0, shards.getShardCount())
+                .mapToObj(shard -> streamShard(shard, fetchSize))
+                .toArray(Publisher[]::new);
+        return Flux.mergeComparing(BY_ID, shardStreams);
+    }
+
+    @Override
+    public void deleteCustomer(CustomerEntity customerEntity) {
+        shards.inTransaction(shards.shardOf(customerEntity.getId()), session -> {
+            session.delete(customerEntity);
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link CustomerDaoServiceImpl#deleteCustomer(Long, Long)}, on the customer's shard.
+     */
+    @Override
+    public boolean deleteCustomer(Long customerId, Long expectedVersion) {
+        return shards.inTransaction(shards.shardOf(customerId), session -> {
+            var customer = session.get(CustomerEntity.class, customerId);
+            if (customer == null)
+                return false;
+
+            if (expectedVersion != null && !expectedVersion.equals(customer.getVersion()))
+                throw new StaleCustomerException(customerId, null);
+
+            session.delete(customer);
+            try {
+                session.flush();
+            } catch (RuntimeException e) {
+                if (StaleCustomerException.isCausedByConcurrentUpdate(e))
+                    throw new StaleCustomerException(customerId, e);
+                throw e;
+            }
+            return true;
+        });
+    }
+
+    private Flux<CustomerEntity> streamShard(int shard, int fetchSize) {
+        return Flux.using(
+                        shards.getSessionFactory(shard)::openStatelessSession,
+                        session -> Flux.using(
+                                () -> session.createQuery("select c from customers c order by c.id", CustomerEntity.class)
+                                        .setFetchSize(fetchSize)
+                                        .scroll(ScrollMode.FORWARD_ONLY),
+                                results -> Flux.<CustomerEntity>generate(sink -> {
+                                    if (results.next())
+                                        sink.next((CustomerEntity) results.get(0));
+                                    else
+                                        sink.complete();
+                                }),
+                                ScrollableResults::close),
+                        StatelessSession::close)
+                .subscribeOn(ioScheduler);
+    }
+
+    private static Optional<CustomerEntity> findByDocumentId(Session session, String documentId) {
+        return session.createQuery("select c from customers c where c.documentId = :documentId", CustomerEntity.class)
+                .setParameter("documentId", documentId)
+                .uniqueResultOptional();
+    }
+
+    private <T> List<T> onAllShards(Function<Session, T> work) {
+        return onShards(IntStream.range(0, shards.getShardCount()), work);
+    }
+
+    /**
+     * Runs work in a read-only transaction on each of the given shards, in parallel.
+     */
+    private <T> List<T> onShards(IntStream shardIndexes, Function<Session, T> work) {
+        return shards.inParallel(shardIndexes
+                .mapToObj(shard -> (Supplier<T>) () -> shards.inReadOnlyTransaction(shard, work))
+                .collect(Collectors.toList()));
+    }
+}
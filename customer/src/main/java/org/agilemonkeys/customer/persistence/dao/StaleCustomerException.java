@@ -0,0 +1,24 @@
+package org.agilemonkeys.customer.persistence.dao;
+
+import org.hibernate.StaleStateException;
+
+import javax.persistence.OptimisticLockException;
+
+/**
+ * Thrown when a customer update is based on a version that is no longer the current one.
+ */
+public class StaleCustomerException extends RuntimeException {
+
+    public StaleCustomerException(Long customerId, Throwable cause) {
+        super("Customer " + customerId + " was modified concurrently", cause);
+    }
+
+    static boolean isCausedByConcurrentUpdate(Throwable exception) {
+        for (var cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException
+                    || cause instanceof io.micronaut.data.exceptions.OptimisticLockException)
+                return true;
+        }
+        return false;
+    }
+}
@@ -1,17 +1,41 @@
 package org.agilemonkeys.customer.persistence.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.Proxy;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.Instant;
 import java.util.Objects;
 
 @Entity(name = "customers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CustomerEntity.CACHE_REGION)
+@DynamicUpdate
+// No runtime-generated proxies, so the entity works in a native image (hibernate.bytecode.provider=none)
+@Proxy(lazy = false)
+@Table(name = "customers", uniqueConstraints = @UniqueConstraint(name = CustomerEntity.DOCUMENT_ID_CONSTRAINT, columnNames = "documentId"))
 public class CustomerEntity {
+    public static final String DOCUMENT_ID_CONSTRAINT = "uk_customers_document_id";
+    public static final String ID_SEQUENCE = "customers_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String CACHE_REGION = "customer.entity";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    // The pooled customers sequence; with sharding the id also encodes the shard of the customer
+    @GenericGenerator(name = ID_SEQUENCE, strategy = "org.agilemonkeys.customer.persistence.sharding.ShardAwareSequenceGenerator",
+            parameters = {
+                    @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = ID_SEQUENCE),
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE)
+            })
     private Long id;
     @Column
     private String name;
@@ -29,6 +53,8 @@ public class CustomerEntity {
     private Instant updatedDate;
     @Column
     private String updatedBy;
+    @Version
+    private Long version;
 
     public Long getId() {
         return id;
@@ -94,6 +120,14 @@ public class CustomerEntity {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,72 @@
+package org.agilemonkeys.customer.persistence.entity;
+
+import org.agilemonkeys.customer.api.CustomerChangeType;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A customer change waiting to be published, written in the same transaction as the change.
+ */
+@Entity(name = "customer_outbox")
+@Table(name = "customer_outbox")
+public class CustomerOutboxEventEntity {
+    public static final String ID_SEQUENCE = "customer_outbox_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Long customerId;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CustomerChangeType type;
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    @Column
+    @CreationTimestamp
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public CustomerChangeType getType() {
+        return type;
+    }
+
+    public void setType(CustomerChangeType type) {
+        this.type = type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -0,0 +1,20 @@
+package org.agilemonkeys.customer.persistence.repository;
+
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.repository.CrudRepository;
+import org.agilemonkeys.customer.persistence.entity.CustomerOutboxEventEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerOutboxRepository extends CrudRepository<CustomerOutboxEventEntity, Long> {
+
+    /**
+     * The oldest pending events, in the order they were written.
+     */
+    List<CustomerOutboxEventEntity> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    void deleteByIdIn(Collection<Long> ids);
+}
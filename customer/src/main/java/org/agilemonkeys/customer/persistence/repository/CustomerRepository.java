@@ -1,13 +1,41 @@
 package org.agilemonkeys.customer.persistence.repository;
 
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.CrudRepository;
+import org.agilemonkeys.customer.api.CustomerVersion;
 import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends CrudRepository<CustomerEntity, Long> {
+    String BY_DOCUMENT_ID_CACHE_REGION = "customer.by-document-id";
 
+    /**
+     * Cached in the Hibernate query cache. Any write to the customers table invalidates the
+     * cached results.
+     */
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    @QueryHint(name = "org.hibernate.cacheRegion", value = BY_DOCUMENT_ID_CACHE_REGION)
     Optional<CustomerEntity> findByDocumentId(String documentId);
+
+    /**
+     * DTO projection: selects only the version and updatedDate columns of a customer.
+     */
+    Optional<CustomerVersion> readById(Long id);
+
+    @Query("select c.documentId from customers c where c.documentId in (:documentIds)")
+    List<String> findExistingDocumentIds(Collection<String> documentIds);
+
+    /**
+     * Keyset pagination: the customers with an id greater than the given one, in id order.
+     * Only pass a first-page {@link Pageable} (offset 0) so the query is a plain LIMIT on the
+     * primary key index.
+     */
+    List<CustomerEntity> findByIdGreaterThanOrderById(Long id, Pageable pageable);
 }
@@ -0,0 +1,41 @@
+package org.agilemonkeys.customer.persistence.repository;
+
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.entity.ReactiveCustomerEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CustomerRepository}, over R2DBC.
+ */
+@R2dbcRepository(dialect = Dialect.H2)
+public interface ReactiveCustomerRepository extends ReactorCrudRepository<ReactiveCustomerEntity, Long> {
+
+    Mono<ReactiveCustomerEntity> findByDocumentId(String documentId);
+
+    /**
+     * DTO projection: selects only the version and updatedDate columns of a customer.
+     */
+    Mono<CustomerVersion> readById(Long id);
+
+    /**
+     * Keyset pagination, see {@link CustomerRepository#findByIdGreaterThanOrderById}.
+     */
+    Flux<ReactiveCustomerEntity> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * Deletes a customer only if it is still at the given version.
+     *
+     * @return the number of customers deleted
+     */
+    Mono<Long> deleteByIdAndVersion(Long id, Long version);
+
+    @Query("SELECT NEXT VALUE FOR " + CustomerEntity.ID_SEQUENCE)
+    Mono<Long> nextIdSequenceValue();
+}
@@ -0,0 +1,63 @@
+package org.agilemonkeys.customer.persistence.routing;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("customer.routing")
+public class DataSourceRoutingConfiguration {
+    private boolean enabled = true;
+    private Duration stickyWindow = Duration.ofSeconds(5);
+    private String replicaUrl;
+    private String replicaUsername;
+    private String replicaPassword = "";
+    private int replicaMaximumPoolSize = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getStickyWindow() {
+        return stickyWindow;
+    }
+
+    public void setStickyWindow(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    public String getReplicaUrl() {
+        return replicaUrl;
+    }
+
+    public void setReplicaUrl(String replicaUrl) {
+        this.replicaUrl = replicaUrl;
+    }
+
+    public String getReplicaUsername() {
+        return replicaUsername;
+    }
+
+    public void setReplicaUsername(String replicaUsername) {
+        this.replicaUsername = replicaUsername;
+    }
+
+    public String getReplicaPassword() {
+        return replicaPassword;
+    }
+
+    public void setReplicaPassword(String replicaPassword) {
+        this.replicaPassword = replicaPassword;
+    }
+
+    public int getReplicaMaximumPoolSize() {
+        return replicaMaximumPoolSize;
+    }
+
+    public void setReplicaMaximumPoolSize(int replicaMaximumPoolSize) {
+        this.replicaMaximumPoolSize = replicaMaximumPoolSize;
+    }
+}
@@ -0,0 +1,93 @@
+package org.agilemonkeys.customer.persistence.routing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.configuration.hibernate.jpa.JpaConfiguration;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jdbc.DataSourceResolver;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * Hands Hibernate a {@link RoutingConnectionProvider} over the default datasource and a replica
+ * pool of its own, before the session factory is built.
+ * <p>
+ * Only Hibernate is routed: the replica is not a Micronaut datasource, so it gets no session
+ * factory or repositories of its own. Only for the blocking stack, R2DBC always uses the primary.
+ */
+@Singleton
+@Requires(property = "customer.stack", value = "BLOCKING", defaultValue = "BLOCKING")
+@Requires(property = "customer.routing.enabled", notEquals = "false")
+@Requires(property = "customer.routing.replica-url")
+public class DataSourceRoutingConfigurer implements BeanCreatedEventListener<JpaConfiguration> {
+
+    private final DataSourceRoutingConfiguration configuration;
+    private final BeanProvider<MeterRegistry> meterRegistry;
+    private final RoutingConnectionProvider connectionProvider;
+    private HikariDataSource replica;
+
+    @Inject
+    public DataSourceRoutingConfigurer(DataSourceRoutingConfiguration configuration, DataSource dataSource,
+                                       @Nullable DataSourceResolver dataSourceResolver,
+                                       BeanProvider<MeterRegistry> meterRegistry) {
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        // The pool itself, not a transaction aware proxy that would hand back Hibernate's own connection
+        var primary = (dataSourceResolver != null ? dataSourceResolver : DataSourceResolver.DEFAULT).resolve(dataSource);
+        this.connectionProvider = new RoutingConnectionProvider(primary, this::getReplica, ReadYourWritesFilter::isStickyToPrimary);
+    }
+
+    @Override
+    public JpaConfiguration onCreated(BeanCreatedEvent<JpaConfiguration> event) {
+        var jpaConfiguration = event.getBean();
+        var properties = new HashMap<>(jpaConfiguration.getProperties());
+        properties.put(AvailableSettings.CONNECTION_PROVIDER, connectionProvider);
+        jpaConfiguration.setProperties(properties);
+        return jpaConfiguration;
+    }
+
+    public RoutingConnectionProvider getConnectionProvider() {
+        return connectionProvider;
+    }
+
+    /**
+     * The replica pool, if a read-only transaction already started it.
+     */
+    public synchronized Optional<HikariDataSource> getReplicaPool() {
+        return Optional.ofNullable(replica);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (replica != null)
+            replica.close();
+    }
+
+    private synchronized DataSource getReplica() {
+        if (replica != null)
+            return replica;
+
+        var hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("replica");
+        hikariConfig.setJdbcUrl(configuration.getReplicaUrl());
+        hikariConfig.setUsername(configuration.getReplicaUsername());
+        hikariConfig.setPassword(configuration.getReplicaPassword());
+        hikariConfig.setMaximumPoolSize(configuration.getReplicaMaximumPoolSize());
+        hikariConfig.setReadOnly(true);
+        if (meterRegistry.isPresent())
+            hikariConfig.setMetricRegistry(meterRegistry.get());
+        replica = new HikariDataSource(hikariConfig);
+        return replica;
+    }
+}
@@ -0,0 +1,42 @@
+package org.agilemonkeys.customer.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import jakarta.inject.Inject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes how many connections were taken from the primary and from the replica at /datasourcerouting.
+ */
+@Endpoint(id = "datasourcerouting", defaultSensitive = false)
+@Requires(beans = DataSourceRoutingConfigurer.class)
+public class DataSourceRoutingEndpoint {
+    private final DataSourceRoutingConfiguration configuration;
+    private final DataSourceRoutingConfigurer configurer;
+
+    @Inject
+    public DataSourceRoutingEndpoint(DataSourceRoutingConfiguration configuration, DataSourceRoutingConfigurer configurer) {
+        this.configuration = configuration;
+        this.configurer = configurer;
+    }
+
+    @Read
+    public Map<String, Object> stats() {
+        var connectionProvider = configurer.getConnectionProvider();
+        var result = new LinkedHashMap<String, Object>();
+        result.put("stickyWindow", configuration.getStickyWindow().toString());
+        result.put("primaryConnections", connectionProvider.getPrimaryConnections());
+        result.put("replicaConnections", connectionProvider.getReplicaConnections());
+        configurer.getReplicaPool()
+                .map(HikariDataSource::getHikariPoolMXBean)
+                .ifPresent(pool -> {
+                    result.put("replicaActive", pool.getActiveConnections());
+                    result.put("replicaIdle", pool.getIdleConnections());
+                });
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package org.agilemonkeys.customer.persistence.routing;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.context.ServerRequestContext;
+import io.micronaut.http.cookie.Cookie;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import jakarta.inject.Inject;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes on top of the replica routing.
+ * <p>
+ * A successful write answers with a cookie holding the end of the sticky window
+ * (customer.routing.sticky-window). Until then the client's reads go to the primary, so it never
+ * reads a replica that has not caught up with its own writes. Writes read on the primary too.
+ */
+@Filter("/customers/**")
+@Requires(beans = DataSourceRoutingConfigurer.class)
+public class ReadYourWritesFilter implements HttpServerFilter {
+    public static final String PRIMARY_UNTIL_COOKIE = "customer-primary-until";
+
+    private static final String PRIMARY_ATTRIBUTE = "customer.routing.primary";
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final Duration stickyWindow;
+
+    @Inject
+    public ReadYourWritesFilter(DataSourceRoutingConfiguration configuration) {
+        this.stickyWindow = configuration.getStickyWindow();
+    }
+
+    /**
+     * Whether the request being handled on this thread must read from the primary.
+     */
+    public static boolean isStickyToPrimary() {
+        return ServerRequestContext.currentRequest()
+                .flatMap(request -> request.getAttribute(PRIMARY_ATTRIBUTE, Boolean.class))
+                .orElse(false);
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        var write = WRITE_METHODS.contains(request.getMethod());
+        if (write || isWithinStickyWindow(request))
+            request.setAttribute(PRIMARY_ATTRIBUTE, true);
+
+        if (!write)
+            return chain.proceed(request);
+
+        return Flux.from(chain.proceed(request))
+                .doOnNext(response -> {
+                    if (response.getStatus().getCode() < 400)
+                        response.cookie(Cookie.of(PRIMARY_UNTIL_COOKIE, String.valueOf(System.currentTimeMillis() + stickyWindow.toMillis()))
+                                .path("/customers")
+                                .maxAge(stickyWindow)
+                                .httpOnly(true));
+                });
+    }
+
+    private static boolean isWithinStickyWindow(HttpRequest<?> request) {
+        return request.getCookies().findCookie(PRIMARY_UNTIL_COOKIE)
+                .map(cookie -> {
+                    try {
+                        return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                })
+                .orElse(false);
+    }
+}
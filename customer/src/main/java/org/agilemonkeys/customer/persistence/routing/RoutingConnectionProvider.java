@@ -0,0 +1,177 @@
+package org.agilemonkeys.customer.persistence.routing;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate connection provider sending read-only transactions to the read replica and
+ * everything else to the primary.
+ * <p>
+ * The transaction manager marks the connection read-only right after taking it, before any
+ * statement runs. So connections are handed out lazily: their settings are recorded, and the
+ * physical connection is only taken on the first statement, from the replica if it is read-only
+ * at that point. A transaction served entirely by the second-level cache takes no connection.
+ */
+public class RoutingConnectionProvider implements ConnectionProvider {
+    private final DataSource primary;
+    private final Supplier<DataSource> replica;
+    private final BooleanSupplier stickyToPrimary;
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    /**
+     * @param primary         the primary datasource, for writes
+     * @param replica         the replica datasource, for read-only transactions
+     * @param stickyToPrimary whether the current read must see the latest writes, so go to the primary
+     */
+    public RoutingConnectionProvider(DataSource primary, Supplier<DataSource> replica, BooleanSupplier stickyToPrimary) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickyToPrimary = stickyToPrimary;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new LazyRoutingConnection());
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean isUnwrappableAs(Class unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (!isUnwrappableAs(unwrapType))
+            throw new UnknownUnwrapTypeException(unwrapType);
+
+        return unwrapType.cast(this);
+    }
+
+    /**
+     * The number of physical connections taken from the primary.
+     */
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * The number of physical connections taken from the replica.
+     */
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    private Connection connect(boolean readOnly) throws SQLException {
+        if (readOnly && !stickyToPrimary.getAsBoolean()) {
+            replicaConnections.increment();
+            return replica.get().getConnection();
+        }
+
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    private class LazyRoutingConnection implements InvocationHandler {
+        private Connection target;
+        private boolean readOnly;
+        private boolean autoCommit = true;
+        private Integer transactionIsolation;
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Lazy routing connection" + (target != null ? " to " + target : "");
+                case "isClosed":
+                    return closed;
+                case "close":
+                    closed = true;
+                    if (target != null)
+                        target.close();
+                    return null;
+                default:
+                    break;
+            }
+
+            if (target == null) {
+                switch (method.getName()) {
+                    case "setReadOnly":
+                        readOnly = (Boolean) args[0];
+                        return null;
+                    case "isReadOnly":
+                        return readOnly;
+                    case "setAutoCommit":
+                        autoCommit = (Boolean) args[0];
+                        return null;
+                    case "getAutoCommit":
+                        return autoCommit;
+                    case "setTransactionIsolation":
+                        transactionIsolation = (Integer) args[0];
+                        return null;
+                    // Nothing was sent yet, so there is nothing to commit or roll back
+                    case "commit":
+                    case "rollback":
+                    case "clearWarnings":
+                    case "getWarnings":
+                        return null;
+                    default:
+                        break;
+                }
+                if (closed)
+                    throw new SQLException("The connection is closed");
+                target = physicalConnection();
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private Connection physicalConnection() throws SQLException {
+            var connection = connect(readOnly);
+            try {
+                if (connection.getAutoCommit() != autoCommit)
+                    connection.setAutoCommit(autoCommit);
+                if (transactionIsolation != null)
+                    connection.setTransactionIsolation(transactionIsolation);
+                if (readOnly)
+                    connection.setReadOnly(true);
+                return connection;
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+    }
+}
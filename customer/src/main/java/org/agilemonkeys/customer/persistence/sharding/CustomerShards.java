@@ -0,0 +1,186 @@
+package org.agilemonkeys.customer.persistence.sharding;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The customer shards: a Hikari pool and a Hibernate session factory per configured shard url.
+ * <p>
+ * A new customer is stored on the shard picked by a hash of its documentId, and its id encodes
+ * that shard (see {@link ShardAwareSequenceGenerator}), so operations by id go to a single shard.
+ * The shard count must not change once customers are stored: their ids would point to the wrong
+ * shard.
+ */
+@Singleton
+@Requires(property = "customer.sharding.enabled", value = "true")
+public class CustomerShards {
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<SessionFactory> sessionFactories = new ArrayList<>();
+    private final ExecutorService ioExecutor;
+
+    @Inject
+    public CustomerShards(ShardingConfiguration configuration, @Named(TaskExecutors.IO) ExecutorService ioExecutor,
+                          BeanProvider<MeterRegistry> meterRegistry) {
+        this.ioExecutor = ioExecutor;
+        var shardUrls = configuration.getShardUrls();
+        if (shardUrls.isEmpty())
+            throw new IllegalStateException("Sharding is enabled but customer.sharding.shard-urls is empty");
+
+        try {
+            for (int shard = 0; shard < shardUrls.size(); shard++) {
+                var dataSource = dataSource(configuration, shard, meterRegistry);
+                dataSources.add(dataSource);
+                sessionFactories.add(sessionFactory(dataSource, shard, shardUrls.size()));
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public int getShardCount() {
+        return sessionFactories.size();
+    }
+
+    /**
+     * The shard a customer is stored on, from its id.
+     */
+    public int shardOf(long customerId) {
+        return (int) Math.floorMod(customerId, (long) getShardCount());
+    }
+
+    /**
+     * The shard a new customer is stored on, from its documentId.
+     */
+    public int shardFor(String documentId) {
+        var hash = documentId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), getShardCount());
+    }
+
+    public SessionFactory getSessionFactory(int shard) {
+        return sessionFactories.get(shard);
+    }
+
+    /**
+     * Runs work in a transaction on a shard, rolling back if it throws.
+     */
+    public <T> T inTransaction(int shard, Function<Session, T> work) {
+        try (var session = sessionFactories.get(shard).openSession()) {
+            var transaction = session.beginTransaction();
+            try {
+                var result = work.apply(session);
+                transaction.commit();
+                return result;
+            } catch (RuntimeException e) {
+                if (transaction.isActive())
+                    transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs work in a read-only transaction on a shard: nothing is dirty checked or flushed.
+     */
+    public <T> T inReadOnlyTransaction(int shard, Function<Session, T> work) {
+        return inTransaction(shard, session -> {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            return work.apply(session);
+        });
+    }
+
+    /**
+     * Runs the tasks in parallel on the IO executor and waits for all of them.
+     *
+     * @return the results, in task order
+     */
+    public <T> List<T> inParallel(List<Supplier<T>> tasks) {
+        var results = new ArrayList<T>(tasks.size());
+        if (tasks.size() == 1) {
+            results.add(tasks.get(0).get());
+            return results;
+        }
+
+        var futures = new ArrayList<CompletableFuture<T>>(tasks.size());
+        for (var task : tasks)
+            futures.add(CompletableFuture.supplyAsync(task, ioExecutor));
+        try {
+            for (var future : futures)
+                results.add(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void close() {
+        sessionFactories.forEach(SessionFactory::close);
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource dataSource(ShardingConfiguration configuration, int shard,
+                                               BeanProvider<MeterRegistry> meterRegistry) {
+        var hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("shard-" + shard);
+        hikariConfig.setJdbcUrl(configuration.getShardUrls().get(shard));
+        hikariConfig.setUsername(configuration.getUsername());
+        hikariConfig.setPassword(configuration.getPassword());
+        hikariConfig.setMaximumPoolSize(configuration.getMaximumPoolSize());
+        if (meterRegistry.isPresent())
+            hikariConfig.setMetricRegistry(meterRegistry.get());
+        return new HikariDataSource(hikariConfig);
+    }
+
+    /**
+     * Same mapping and batching as the default session factory, without the second-level cache.
+     */
+    private static SessionFactory sessionFactory(DataSource dataSource, int shard, int shardCount) {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "update")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.ORDER_UPDATES, true)
+                .applySetting(AvailableSettings.BYTECODE_PROVIDER, "none")
+                .applySetting(ShardAwareSequenceGenerator.SHARD_INDEX, shard)
+                .applySetting(ShardAwareSequenceGenerator.SHARD_COUNT, shardCount)
+                .build();
+        try {
+            return new MetadataSources(registry)
+                    .addAnnotatedClass(CustomerEntity.class)
+                    .buildMetadata()
+                    .buildSessionFactory();
+        } catch (RuntimeException e) {
+            StandardServiceRegistryBuilder.destroy(registry);
+            throw e;
+        }
+    }
+}
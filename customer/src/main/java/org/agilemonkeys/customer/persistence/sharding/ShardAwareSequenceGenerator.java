@@ -0,0 +1,41 @@
+package org.agilemonkeys.customer.persistence.sharding;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * The customers sequence generator, encoding in every id the shard the customer is stored on:
+ * id = sequence value * shard count + shard index.
+ * <p>
+ * Both come from the session factory settings. Without them (no sharding) there is one shard,
+ * and ids are the plain sequence values.
+ */
+public class ShardAwareSequenceGenerator extends SequenceStyleGenerator {
+    public static final String SHARD_INDEX = "customer.sharding.shard-index";
+    public static final String SHARD_COUNT = "customer.sharding.shard-count";
+
+    private int shardIndex;
+    private int shardCount;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, params, serviceRegistry);
+        var settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        shardIndex = ConfigurationHelper.getInt(SHARD_INDEX, settings, 0);
+        shardCount = ConfigurationHelper.getInt(SHARD_COUNT, settings, 1);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        var sequenceValue = ((Number) super.generate(session, object)).longValue();
+        return sequenceValue * shardCount + shardIndex;
+    }
+}
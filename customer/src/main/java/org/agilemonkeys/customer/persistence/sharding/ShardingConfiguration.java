@@ -0,0 +1,55 @@
+package org.agilemonkeys.customer.persistence.sharding;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("customer.sharding")
+public class ShardingConfiguration {
+    private boolean enabled = false;
+    private List<String> shardUrls = new ArrayList<>();
+    private String username;
+    private String password = "";
+    private int maximumPoolSize = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getShardUrls() {
+        return shardUrls;
+    }
+
+    public void setShardUrls(List<String> shardUrls) {
+        this.shardUrls = shardUrls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+}
@@ -0,0 +1,43 @@
+package org.agilemonkeys.customer.search;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("customer.search")
+public class CustomerSearchConfiguration {
+    private int defaultLimit = 20;
+    private int maxLimit = 100;
+    private int maxEdits = 2;
+    private int indexFetchSize = 1000;
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    public void setMaxEdits(int maxEdits) {
+        this.maxEdits = maxEdits;
+    }
+
+    public int getIndexFetchSize() {
+        return indexFetchSize;
+    }
+
+    public void setIndexFetchSize(int indexFetchSize) {
+        this.indexFetchSize = indexFetchSize;
+    }
+}
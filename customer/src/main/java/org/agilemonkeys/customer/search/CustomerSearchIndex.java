@@ -0,0 +1,336 @@
+package org.agilemonkeys.customer.search;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory name search over the customers' name and surname.
+ * <p>
+ * Names are split into normalized terms (lower case, no accents). Every distinct term keeps the
+ * ids of its customers, terms are kept sorted for prefix matching, and each term is indexed by its
+ * trigrams to find the terms within a few typos of a query term. As there are far fewer distinct
+ * terms than customers, the trigram side stays small however many customers there are.
+ * <p>
+ * A customer matches when every query term matches one of its terms: exactly, as a prefix or
+ * within the allowed edit distance, scored in that order. The best matches are collected with a
+ * bounded heap, stopping as soon as the remaining candidates cannot beat them.
+ */
+@Singleton
+public class CustomerSearchIndex {
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM_SIZE = 3;
+    private static final int MAX_PREFIX_TERMS = 1000;
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.5;
+    private static final double TYPO_SCORE = 0.4;
+
+    private final CustomerSearchConfiguration configuration;
+    private final Map<Long, String[]> customerTerms = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> termCustomers = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> gramTerms = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> sortedTerms = new ConcurrentSkipListSet<>();
+
+    @Inject
+    public CustomerSearchIndex(CustomerSearchConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Adds a customer, or replaces its indexed name and surname.
+     */
+    public void index(Long customerId, String name, String surname) {
+        var terms = terms(name + " " + surname);
+        customerTerms.compute(customerId, (id, previousTerms) -> {
+            var previous = previousTerms == null ? List.<String>of() : Arrays.asList(previousTerms);
+            for (var term : previous) {
+                if (!Arrays.asList(terms).contains(term))
+                    removePosting(term, id);
+            }
+            for (var term : terms) {
+                if (!previous.contains(term))
+                    addPosting(term, id);
+            }
+            return terms;
+        });
+    }
+
+    public void remove(Long customerId) {
+        customerTerms.computeIfPresent(customerId, (id, terms) -> {
+            for (var term : terms)
+                removePosting(term, id);
+            return null;
+        });
+    }
+
+    public int size() {
+        return customerTerms.size();
+    }
+
+    /**
+     * Finds the customers matching every term of the query.
+     *
+     * @param query the name, surname or part of them, as typed
+     * @param limit the maximum number of results
+     * @return the matching customer ids, best match first
+     */
+    public List<Long> search(String query, int limit) {
+        var queryTerms = terms(query);
+        if (queryTerms.length == 0)
+            return List.of();
+
+        var matches = new ArrayList<Map<String, Double>>(queryTerms.length);
+        for (var queryTerm : queryTerms) {
+            var termMatches = matchingTerms(queryTerm);
+            if (termMatches.isEmpty())
+                return List.of();
+            matches.add(termMatches);
+        }
+
+        // The query term with the fewest candidate customers drives the search, the others filter
+        var driver = matches.stream().min(Comparator.comparingLong(this::postings)).orElseThrow();
+        var others = new ArrayList<>(matches);
+        others.remove(driver);
+        var othersMaxScore = others.stream()
+                .mapToDouble(termMatches -> termMatches.values().stream().mapToDouble(Double::doubleValue).max().orElse(0))
+                .sum();
+
+        var best = new PriorityQueue<ScoredCustomer>(limit + 1, Comparator.comparingDouble(ScoredCustomer::getScore));
+        var seen = new HashSet<Long>();
+        var driverTerms = new ArrayList<>(driver.entrySet());
+        driverTerms.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        for (var driverTerm : driverTerms) {
+            var bound = driverTerm.getValue() + othersMaxScore;
+            if (best.size() == limit && bound <= best.peek().getScore())
+                break;
+
+            for (var customerId : termCustomers.getOrDefault(driverTerm.getKey(), Set.of())) {
+                if (best.size() == limit && bound <= best.peek().getScore())
+                    break;
+                if (!seen.add(customerId))
+                    continue;
+
+                var score = score(customerId, driverTerm.getValue(), others);
+                if (score > 0) {
+                    best.add(new ScoredCustomer(customerId, score));
+                    if (best.size() > limit)
+                        best.poll();
+                }
+            }
+        }
+
+        var result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(ScoredCustomer::getScore).reversed());
+        var customerIds = new ArrayList<Long>(result.size());
+        result.forEach(scoredCustomer -> customerIds.add(scoredCustomer.getCustomerId()));
+        return customerIds;
+    }
+
+    /**
+     * The score of a customer already matching the driving query term, 0 if another query term
+     * matches none of its terms.
+     */
+    private double score(Long customerId, double driverScore, List<Map<String, Double>> others) {
+        var terms = customerTerms.get(customerId);
+        if (terms == null)
+            return 0;
+
+        var score = driverScore;
+        for (var termMatches : others) {
+            var termScore = 0.0;
+            for (var term : terms)
+                termScore = Math.max(termScore, termMatches.getOrDefault(term, 0.0));
+            if (termScore == 0)
+                return 0;
+            score += termScore;
+        }
+        return score;
+    }
+
+    /**
+     * The indexed terms matching a query term, with their score: 1 for the same term, between 0.5
+     * and 1 for terms starting with it (shorter ones first), and 0.4 / edits for the terms within
+     * the allowed number of typos.
+     */
+    private Map<String, Double> matchingTerms(String queryTerm) {
+        var matches = new HashMap<String, Double>();
+        for (var term : sortedTerms.subSet(queryTerm, true, queryTerm + Character.MAX_VALUE, false)) {
+            if (matches.size() == MAX_PREFIX_TERMS)
+                break;
+            matches.put(term, term.equals(queryTerm) ? EXACT_SCORE
+                    : PREFIX_SCORE + PREFIX_SCORE * queryTerm.length() / term.length());
+        }
+
+        var maxEdits = maxEdits(queryTerm);
+        if (maxEdits == 0)
+            return matches;
+
+        // q-gram lemma: a padded term has as many trigrams as letters and each edit changes at most
+        // GRAM_SIZE of them, so terms sharing fewer cannot be close enough
+        var queryGrams = grams(queryTerm);
+        var sharedGrams = new HashMap<String, Integer>();
+        for (var gram : queryGrams) {
+            for (var term : gramTerms.getOrDefault(gram, Set.of()))
+                sharedGrams.merge(term, 1, Integer::sum);
+        }
+        sharedGrams.forEach((term, shared) -> {
+            if (matches.containsKey(term))
+                return;
+            var required = Math.max(queryTerm.length(), term.length()) - GRAM_SIZE * maxEdits;
+            if (shared < required)
+                return;
+
+            var edits = editDistance(queryTerm, term, maxEdits);
+            if (edits <= maxEdits)
+                matches.put(term, TYPO_SCORE / edits);
+        });
+        return matches;
+    }
+
+    /**
+     * One typo allowed from 4 characters, two from 8, up to customer.search.max-edits.
+     */
+    private int maxEdits(String queryTerm) {
+        var edits = queryTerm.length() >= 8 ? 2 : queryTerm.length() >= 4 ? 1 : 0;
+        return Math.min(edits, configuration.getMaxEdits());
+    }
+
+    private long postings(Map<String, Double> termMatches) {
+        var postings = 0L;
+        for (var term : termMatches.keySet())
+            postings += termCustomers.getOrDefault(term, Set.of()).size();
+        return postings;
+    }
+
+    private void addPosting(String term, Long customerId) {
+        termCustomers.compute(term, (t, customerIds) -> {
+            if (customerIds == null) {
+                customerIds = ConcurrentHashMap.newKeySet();
+                sortedTerms.add(term);
+                // added within compute, as removePosting drops a gram's set once it is empty
+                for (var gram : grams(term)) {
+                    gramTerms.compute(gram, (g, terms) -> {
+                        if (terms == null)
+                            terms = ConcurrentHashMap.newKeySet();
+                        terms.add(term);
+                        return terms;
+                    });
+                }
+            }
+            customerIds.add(customerId);
+            return customerIds;
+        });
+    }
+
+    private void removePosting(String term, Long customerId) {
+        termCustomers.computeIfPresent(term, (t, customerIds) -> {
+            customerIds.remove(customerId);
+            if (!customerIds.isEmpty())
+                return customerIds;
+
+            sortedTerms.remove(term);
+            for (var gram : grams(term)) {
+                gramTerms.computeIfPresent(gram, (g, terms) -> {
+                    terms.remove(term);
+                    return terms.isEmpty() ? null : terms;
+                });
+            }
+            return null;
+        });
+    }
+
+    static String[] terms(String text) {
+        if (text == null)
+            return new String[0];
+
+        var normalized = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        var terms = new LinkedHashSet<String>();
+        for (var term : SEPARATORS.split(normalized)) {
+            if (!term.isEmpty())
+                terms.add(term);
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    /**
+     * The distinct trigrams of a term padded with '$', so the first and last letters count as much
+     * as the middle ones.
+     */
+    private static Set<String> grams(String term) {
+        var padded = "$" + term + "$";
+        var grams = new HashSet<String>();
+        for (int i = 0; i + GRAM_SIZE <= padded.length(); i++)
+            grams.add(padded.substring(i, i + GRAM_SIZE));
+        return grams;
+    }
+
+    /**
+     * Optimal string alignment distance (insertions, deletions, substitutions and adjacent
+     * transpositions), or maxEdits + 1 as soon as it is known to be larger than maxEdits.
+     */
+    private static int editDistance(String source, String target, int maxEdits) {
+        if (Math.abs(source.length() - target.length()) > maxEdits)
+            return maxEdits + 1;
+
+        var previousPrevious = new int[target.length() + 1];
+        var previous = new int[target.length() + 1];
+        var current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++)
+            previous[j] = j;
+
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            var rowMin = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                var cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && source.charAt(i - 1) == target.charAt(j - 2) && source.charAt(i - 2) == target.charAt(j - 1))
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits)
+                return maxEdits + 1;
+
+            var recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[target.length()];
+    }
+
+    private static final class ScoredCustomer {
+        private final Long customerId;
+        private final double score;
+
+        private ScoredCustomer(Long customerId, double score) {
+            this.customerId = customerId;
+            this.score = score;
+        }
+
+        private Long getCustomerId() {
+            return customerId;
+        }
+
+        private double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.agilemonkeys.customer.search;
+
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Builds the {@link CustomerSearchIndex} from the stored customers when the application starts,
+ * before the server accepts requests. From then on the services keep it up to date.
+ */
+@Singleton
+public class CustomerSearchIndexLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerSearchIndexLoader.class);
+
+    private final CustomerDaoServiceApi customerDaoService;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSearchConfiguration configuration;
+
+    @Inject
+    public CustomerSearchIndexLoader(CustomerDaoServiceApi customerDaoService, CustomerSearchIndex customerSearchIndex,
+                                     CustomerSearchConfiguration configuration) {
+        this.customerDaoService = customerDaoService;
+        this.customerSearchIndex = customerSearchIndex;
+        this.configuration = configuration;
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        var started = System.nanoTime();
+        Flux.from(customerDaoService.streamCustomers(configuration.getIndexFetchSize()))
+                .doOnNext(customer -> customerSearchIndex.index(customer.getId(), customer.getName(), customer.getSurname()))
+                .blockLast();
+        LOG.info("Indexed {} customers for search in {} ms", customerSearchIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,25 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("customer.batch")
+public class CustomerBatchConfiguration {
+    private int maxSize = 50_000;
+    private int chunkSize = 1_000;
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
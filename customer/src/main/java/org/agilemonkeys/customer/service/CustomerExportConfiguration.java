@@ -0,0 +1,25 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("customer.export")
+public class CustomerExportConfiguration {
+    private int fetchSize = 500;
+    private int chunkRows = 100;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public void setChunkRows(int chunkRows) {
+        this.chunkRows = chunkRows;
+    }
+}
@@ -0,0 +1,48 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+@ConfigurationProperties("customer.import")
+public class CustomerImportConfiguration {
+    private int chunkSize = 1_000;
+    private int maxLineLength = 64 * 1024;
+    private int maxReportedRejections = 1_000;
+    private long maxRequestSize = 10L * 1024 * 1024 * 1024;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    public void setMaxLineLength(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+
+    public int getMaxReportedRejections() {
+        return maxReportedRejections;
+    }
+
+    public void setMaxReportedRejections(int maxReportedRejections) {
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * Largest import body accepted, in place of micronaut.server.max-request-size which stays
+     * small for every other endpoint.
+     */
+    public long getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    public void setMaxRequestSize(@ReadableBytes long maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+}
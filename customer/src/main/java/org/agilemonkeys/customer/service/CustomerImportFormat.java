@@ -0,0 +1,10 @@
+package org.agilemonkeys.customer.service;
+
+/**
+ * Supported formats of the customer import body. CSV records are name,surname,documentId and
+ * may start with that same header line.
+ */
+public enum CustomerImportFormat {
+    NDJSON,
+    CSV
+}
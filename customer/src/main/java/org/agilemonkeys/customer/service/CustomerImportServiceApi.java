@@ -0,0 +1,9 @@
+package org.agilemonkeys.customer.service;
+
+import org.agilemonkeys.customer.api.CustomerImportSummary;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+public interface CustomerImportServiceApi {
+    Mono<CustomerImportSummary> importCustomers(Publisher<byte[]> body, CustomerImportFormat format);
+}
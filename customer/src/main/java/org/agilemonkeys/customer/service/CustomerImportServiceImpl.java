@@ -0,0 +1,214 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.CustomerImportSummary;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.search.CustomerSearchIndex;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+@Singleton
+public class CustomerImportServiceImpl implements CustomerImportServiceApi {
+    private static final String CSV_HEADER = "name,surname,documentId";
+
+    private final CustomerDaoServiceApi customerDaoService;
+    private final MapperService mapperService;
+    private final CustomerRequestValidator customerRequestValidator;
+    private final JsonMapper jsonMapper;
+    private final CustomerImportConfiguration customerImportConfiguration;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final Scheduler ioScheduler;
+
+    @Inject
+    public CustomerImportServiceImpl(CustomerDaoServiceApi customerDaoService, MapperService mapperService,
+                                     CustomerRequestValidator customerRequestValidator, JsonMapper jsonMapper,
+                                     CustomerImportConfiguration customerImportConfiguration,
+                                     CustomerSearchIndex customerSearchIndex,
+                                     @Named(TaskExecutors.IO) ExecutorService ioExecutor) {
+        this.customerDaoService = customerDaoService;
+        this.mapperService = mapperService;
+        this.customerRequestValidator = customerRequestValidator;
+        this.jsonMapper = jsonMapper;
+        this.customerImportConfiguration = customerImportConfiguration;
+        this.customerSearchIndex = customerSearchIndex;
+        this.ioScheduler = Schedulers.fromExecutorService(ioExecutor);
+    }
+
+    /**
+     * Imports the customers of a NDJSON or CSV body while it is being received.
+     * <p>
+     * Every record is validated like a single create request. Valid records are saved in
+     * transactions of customer.import.chunk-size customers, and the body is only read further
+     * once the previous chunk is saved, so at most a couple of chunks are held in memory.
+     *
+     * @param body   The request body
+     * @param format The body format
+     * @return The import summary, once the whole body has been processed
+     */
+    @Override
+    public Mono<CustomerImportSummary> importCustomers(Publisher<byte[]> body, CustomerImportFormat format) {
+        return Mono.defer(() -> {
+            var lineSplitter = new LineSplitter(customerImportConfiguration.getMaxLineLength());
+            var progress = new ImportProgress(customerImportConfiguration.getMaxReportedRejections());
+
+            return Flux.concat(
+                            Flux.from(body).concatMapIterable(lineSplitter::feed),
+                            Flux.defer(() -> Flux.fromIterable(lineSplitter.finish())))
+                    .index((index, line) -> new ImportLine(index + 1, line))
+                    .filter(line -> !isSkipped(line, format))
+                    .<ImportRecord>handle((line, sink) -> {
+                        progress.received();
+                        try {
+                            var saveCustomerRequest = parse(line.content, format);
+                            customerRequestValidator.validateSaveCustomerRequest(saveCustomerRequest);
+                            sink.next(new ImportRecord(line.number, mapperService.toCustomerEntity(saveCustomerRequest)));
+                        } catch (IOException | IllegalArgumentException | HttpStatusException e) {
+                            progress.reject(line.number);
+                        }
+                    })
+                    .buffer(customerImportConfiguration.getChunkSize())
+                    .concatMap(chunk -> Mono.fromRunnable(() -> saveChunk(chunk, progress)).subscribeOn(ioScheduler), 1)
+                    .then(Mono.fromCallable(progress::toSummary));
+        });
+    }
+
+    /**
+     * Saves a chunk of valid records in a single transaction. Records whose documentId is already stored
+     * or repeated within the chunk are rejected. If the save fails, all the remaining records are rejected.
+     *
+     * @param chunk    the records to be saved
+     * @param progress the import progress
+     */
+    private void saveChunk(List<ImportRecord> chunk, ImportProgress progress) {
+        var existingDocumentIds = customerDaoService.findExistingDocumentIds(chunk.stream()
+                .map(record -> record.customerEntity.getDocumentId())
+                .collect(Collectors.toList()));
+
+        var pending = new ArrayList<ImportRecord>(chunk.size());
+        var chunkDocumentIds = new HashSet<String>();
+        for (var record : chunk) {
+            var documentId = record.customerEntity.getDocumentId();
+            if (existingDocumentIds.contains(documentId) || !chunkDocumentIds.add(documentId))
+                progress.reject(record.lineNumber);
+            else
+                pending.add(record);
+        }
+
+        try {
+            var savedCustomers = customerDaoService.saveCustomers(pending.stream().map(record -> record.customerEntity).collect(Collectors.toList()));
+            savedCustomers.forEach(customer -> customerSearchIndex.index(customer.getId(), customer.getName(), customer.getSurname()));
+            progress.imported(pending.size());
+        } catch (RuntimeException e) {
+            pending.forEach(record -> progress.reject(record.lineNumber));
+        }
+    }
+
+    private boolean isSkipped(ImportLine line, CustomerImportFormat format) {
+        return line.content.isBlank()
+                || (format == CustomerImportFormat.CSV && line.number == 1 && line.content.trim().equalsIgnoreCase(CSV_HEADER));
+    }
+
+    private SaveCustomerRequest parse(String line, CustomerImportFormat format) throws IOException {
+        if (format == CustomerImportFormat.NDJSON)
+            return jsonMapper.readValue(line, Argument.of(SaveCustomerRequest.class));
+
+        var fields = CsvLineParser.parse(line);
+        if (fields.size() != 3)
+            throw new IllegalArgumentException("Expected 3 fields but found " + fields.size());
+
+        var saveCustomerRequest = new SaveCustomerRequest();
+        saveCustomerRequest.setName(fields.get(0));
+        saveCustomerRequest.setSurname(fields.get(1));
+        saveCustomerRequest.setDocumentId(fields.get(2));
+        return saveCustomerRequest;
+    }
+
+    private static final class ImportLine {
+        private final long number;
+        private final String content;
+
+        private ImportLine(long number, String content) {
+            this.number = number;
+            this.content = content;
+        }
+    }
+
+    private static final class ImportRecord {
+        private final long lineNumber;
+        private final CustomerEntity customerEntity;
+
+        private ImportRecord(long lineNumber, CustomerEntity customerEntity) {
+            this.lineNumber = lineNumber;
+            this.customerEntity = customerEntity;
+        }
+    }
+
+    /**
+     * Counters of an import. Parsing and saving run on different threads, hence the locking.
+     * <p>
+     * Parsing runs ahead of saving, so rejections do not arrive in line order: the reported lines
+     * are kept in a max-heap, so the first ones rejected in the body are the ones reported.
+     */
+    private static final class ImportProgress {
+        private final int maxReportedRejections;
+        private final PriorityQueue<Long> rejectedLines = new PriorityQueue<>(Comparator.reverseOrder());
+        private long received;
+        private long imported;
+        private long rejected;
+
+        private ImportProgress(int maxReportedRejections) {
+            this.maxReportedRejections = maxReportedRejections;
+        }
+
+        private synchronized void received() {
+            received++;
+        }
+
+        private synchronized void imported(int count) {
+            imported += count;
+        }
+
+        private synchronized void reject(long lineNumber) {
+            rejected++;
+            if (rejectedLines.size() < maxReportedRejections) {
+                rejectedLines.add(lineNumber);
+            } else if (!rejectedLines.isEmpty() && lineNumber < rejectedLines.peek()) {
+                rejectedLines.poll();
+                rejectedLines.add(lineNumber);
+            }
+        }
+
+        private synchronized CustomerImportSummary toSummary() {
+            var summary = new CustomerImportSummary();
+            summary.setReceived(received);
+            summary.setImported(imported);
+            summary.setRejected(rejected);
+            var reportedLines = new ArrayList<>(rejectedLines);
+            reportedLines.sort(Long::compareTo);
+            summary.setRejectedLines(List.copyOf(reportedLines));
+            summary.setRejectedLinesTruncated(rejected > rejectedLines.size());
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import org.agilemonkeys.customer.api.error.CustomError;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor of the customer listing. It wraps the id of the last customer of a page, so
+ * clients must not rely on its format.
+ */
+final class CustomerPageCursor {
+    private static final String PREFIX = "customers:";
+
+    private CustomerPageCursor() {
+    }
+
+    static String encode(Long lastCustomerId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastCustomerId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decode(String cursor) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith(PREFIX))
+                return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Falls through to the bad request below, NumberFormatException included
+        }
+        throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("Invalid cursor."));
+    }
+}
@@ -0,0 +1,45 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.api.error.CustomError;
+
+@Singleton
+public class CustomerRequestValidator {
+
+    /**
+     * Validate the customer save request fields
+     *
+     * @param saveCustomerRequest the request object to be validated
+     */
+    public void validateSaveCustomerRequest(SaveCustomerRequest saveCustomerRequest) {
+        if (StringUtils.isEmpty(saveCustomerRequest.getName()))
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer name is mandatory."));
+
+        if (StringUtils.isEmpty(saveCustomerRequest.getSurname()))
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer surname is mandatory."));
+
+        if (StringUtils.isEmpty(saveCustomerRequest.getDocumentId()))
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer documentId is mandatory."));
+    }
+
+    /**
+     * Validate the customer patch request fields. Missing fields are allowed, empty ones are not.
+     *
+     * @param patchCustomerRequest the request object to be validated
+     */
+    public void validatePatchCustomerRequest(PatchCustomerRequest patchCustomerRequest) {
+        if (patchCustomerRequest.getName() != null && StringUtils.isEmpty(patchCustomerRequest.getName()))
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer name cannot be empty."));
+
+        if (patchCustomerRequest.getSurname() != null && StringUtils.isEmpty(patchCustomerRequest.getSurname()))
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer surname cannot be empty."));
+
+        if (patchCustomerRequest.getDocumentId() != null && StringUtils.isEmpty(patchCustomerRequest.getDocumentId()))
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer documentId cannot be empty."));
+    }
+}
@@ -1,16 +1,38 @@
 package org.agilemonkeys.customer.service;
 
+import org.agilemonkeys.customer.api.BatchCreateCustomersResponse;
 import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
 import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CustomerServiceApi {
     Customer createCustomer(SaveCustomerRequest saveCustomerRequest);
 
+    BatchCreateCustomersResponse createCustomers(List<SaveCustomerRequest> saveCustomerRequests);
+
     Customer getCustomerDetail(Long customerId);
 
+    Optional<CustomerVersion> getCustomerVersion(Long customerId);
+
+    Customer getCustomerByDocumentId(String documentId);
+
+    CustomerPage listCustomers(String cursor, Integer pageSize);
+
+    List<Customer> searchCustomers(String query, Integer limit);
+
+    Publisher<Customer> exportCustomers();
+
+
+    Customer updateCustomer(Long customerId, SaveCustomerRequest saveCustomerRequest, Long ifMatchVersion);
 
-    Customer updateCustomer(Long customerId, SaveCustomerRequest saveCustomerRequest);
+    Customer patchCustomer(Long customerId, PatchCustomerRequest patchCustomerRequest);
 
-    void deleteCustomer(Long customerId);
+    void deleteCustomer(Long customerId, Long ifMatchVersion);
 
 }
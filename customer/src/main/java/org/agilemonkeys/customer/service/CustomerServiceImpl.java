@@ -1,28 +1,70 @@
 package org.agilemonkeys.customer.service;
 
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.exceptions.HttpStatusException;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.BatchCreateCustomersResponse;
+import org.agilemonkeys.customer.api.BatchCustomerResult;
 import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
 import org.agilemonkeys.customer.api.SaveCustomerRequest;
 import org.agilemonkeys.customer.api.error.CustomError;
+import org.agilemonkeys.customer.cache.CustomerCache;
 import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.metrics.Measured;
 import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.dao.DuplicateCustomerException;
+import org.agilemonkeys.customer.persistence.dao.StaleCustomerException;
 import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.search.CustomerSearchConfiguration;
+import org.agilemonkeys.customer.search.CustomerSearchIndex;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Singleton
+@Measured("customer.service")
 public class CustomerServiceImpl implements CustomerServiceApi {
+    static final String DUPLICATE_DOCUMENT_ID_MESSAGE = "A customer with this documentId already exists.";
+    static final String STALE_CUSTOMER_MESSAGE = "The customer was modified by another request.";
+
     private final CustomerDaoServiceApi customerDaoService;
     private final MapperService mapperService;
+    private final CustomerRequestValidator customerRequestValidator;
+    private final CustomerCache customerCache;
+    private final CustomerBatchConfiguration customerBatchConfiguration;
+    private final CustomerListingConfiguration customerListingConfiguration;
+    private final CustomerExportConfiguration customerExportConfiguration;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSearchConfiguration customerSearchConfiguration;
 
     @Inject
-    public CustomerServiceImpl(CustomerDaoServiceApi customerDaoService, MapperService mapperService) {
+    public CustomerServiceImpl(CustomerDaoServiceApi customerDaoService, MapperService mapperService,
+                               CustomerRequestValidator customerRequestValidator, CustomerCache customerCache,
+                               CustomerBatchConfiguration customerBatchConfiguration,
+                               CustomerListingConfiguration customerListingConfiguration,
+                               CustomerExportConfiguration customerExportConfiguration,
+                               CustomerSearchIndex customerSearchIndex,
+                               CustomerSearchConfiguration customerSearchConfiguration) {
         this.customerDaoService = customerDaoService;
         this.mapperService = mapperService;
+        this.customerRequestValidator = customerRequestValidator;
+        this.customerCache = customerCache;
+        this.customerBatchConfiguration = customerBatchConfiguration;
+        this.customerListingConfiguration = customerListingConfiguration;
+        this.customerExportConfiguration = customerExportConfiguration;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerSearchConfiguration = customerSearchConfiguration;
     }
 
     /**
@@ -34,58 +76,276 @@ public class CustomerServiceImpl implements CustomerServiceApi {
     @Override
     public Customer createCustomer(SaveCustomerRequest saveCustomerRequest) {
         validateSaveCustomerRequest(saveCustomerRequest);
+        checkDocumentIdIsAvailable(saveCustomerRequest.getDocumentId(), null);
         var customerToSave = mapCustomerEntityFromSaveCustomerRequest(saveCustomerRequest);
+        var savedCustomer = saveCustomer(customerToSave);
+        indexCustomer(savedCustomer);
 
-        return mapCustomerEntityToCustomerDTO(saveCustomer(customerToSave));
+        return mapCustomerEntityToCustomerDTO(savedCustomer);
     }
 
 
+    /**
+     * Creates a batch of new customers
+     * <p>
+     * Every request is validated on its own, and the valid ones are inserted in chunks of
+     * customer.batch.chunk-size, each chunk in its own transaction. Requests repeating a documentId
+     * (already stored or earlier in the batch) are rejected with 409. A failing chunk only rejects
+     * the customers it contains.
+     *
+     * @param saveCustomerRequests The requests with the customers data
+     * @return The result of every request, in the same order
+     */
+    @Override
+    public BatchCreateCustomersResponse createCustomers(List<SaveCustomerRequest> saveCustomerRequests) {
+        if (saveCustomerRequests.size() > customerBatchConfiguration.getMaxSize())
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST,
+                    new CustomError("A batch can not contain more than " + customerBatchConfiguration.getMaxSize() + " customers."));
+
+        var results = new BatchCustomerResult[saveCustomerRequests.size()];
+        var validIndexes = new ArrayList<Integer>(saveCustomerRequests.size());
+        var batchDocumentIds = new HashSet<String>();
+
+        for (int index = 0; index < saveCustomerRequests.size(); index++) {
+            try {
+                validateSaveCustomerRequest(saveCustomerRequests.get(index));
+                if (batchDocumentIds.add(saveCustomerRequests.get(index).getDocumentId()))
+                    validIndexes.add(index);
+                else
+                    results[index] = BatchCustomerResult.rejected(index, HttpStatus.CONFLICT.getCode(), DUPLICATE_DOCUMENT_ID_MESSAGE);
+            } catch (HttpStatusException e) {
+                results[index] = BatchCustomerResult.rejected(index, e.getStatus().getCode(), errorMessage(e));
+            }
+        }
+
+        var chunkSize = customerBatchConfiguration.getChunkSize();
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            var chunkIndexes = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            var existingDocumentIds = customerDaoService.findExistingDocumentIds(chunkIndexes.stream()
+                    .map(index -> saveCustomerRequests.get(index).getDocumentId())
+                    .collect(Collectors.toList()));
+
+            var pendingIndexes = new ArrayList<Integer>(chunkIndexes.size());
+            var pendingCustomers = new ArrayList<CustomerEntity>(chunkIndexes.size());
+            for (var index : chunkIndexes) {
+                if (existingDocumentIds.contains(saveCustomerRequests.get(index).getDocumentId())) {
+                    results[index] = BatchCustomerResult.rejected(index, HttpStatus.CONFLICT.getCode(), DUPLICATE_DOCUMENT_ID_MESSAGE);
+                } else {
+                    pendingIndexes.add(index);
+                    pendingCustomers.add(mapCustomerEntityFromSaveCustomerRequest(saveCustomerRequests.get(index)));
+                }
+            }
+
+            try {
+                var savedCustomers = customerDaoService.saveCustomers(pendingCustomers);
+                savedCustomers.forEach(this::indexCustomer);
+                for (int i = 0; i < pendingIndexes.size(); i++)
+                    results[pendingIndexes.get(i)] = BatchCustomerResult.created(pendingIndexes.get(i),
+                            mapCustomerEntityToCustomerDTO(savedCustomers.get(i)));
+            } catch (RuntimeException e) {
+                for (var index : pendingIndexes)
+                    results[index] = BatchCustomerResult.rejected(index,
+                            HttpStatus.INTERNAL_SERVER_ERROR.getCode(), "The customer could not be saved.");
+            }
+        }
+
+        var response = new BatchCreateCustomersResponse();
+        response.setResults(Arrays.asList(results));
+        response.setCreated((int) response.getResults().stream().filter(result -> result.getCustomer() != null).count());
+        response.setRejected(results.length - response.getCreated());
+        return response;
+    }
+
     /**
      * Get all the information of a Customer given his id.
+     * <p>
+     * Served from the customer cache, which is only loaded from database on a miss. Concurrent
+     * misses for the same customer share a single query.
      *
      * @param customerId The customer identifier
      * @return The customer and all his information.
      */
     @Override
     public Customer getCustomerDetail(Long customerId) {
-        var customer = getCustomerIfExists(customerId);
+        var customer = customerCache.get(customerId, this::loadCustomer);
         if (customer.isEmpty())
             throw new HttpStatusException(HttpStatus.NOT_FOUND, new CustomError("Customer not found."));
 
-        return mapCustomerEntityToCustomerDTO(customer.get());
+        return customer.get();
     }
 
 
     /**
-     * Updates an existing customer
+     * Get the current version of a Customer, without loading the whole customer.
      * <p>
-     * Throws an exception if the customer does not exist.
+     * Answered from the cache when the customer is cached, otherwise with a query that only
+     * reads the version columns.
      *
      * @param customerId The customer identifier
+     * @return The customer version, empty if it does not exist
      */
     @Override
-    public Customer updateCustomer(Long customerId, SaveCustomerRequest saveCustomerRequest) {
+    public Optional<CustomerVersion> getCustomerVersion(Long customerId) {
+        var cachedCustomer = customerCache.getIfPresent(customerId);
+        if (cachedCustomer.isPresent()) {
+            var customerVersion = new CustomerVersion();
+            customerVersion.setVersion(cachedCustomer.get().getVersion());
+            customerVersion.setUpdatedDate(cachedCustomer.get().getUpdatedDate());
+            return Optional.of(customerVersion);
+        }
 
-        var customer = getCustomerIfExists(customerId);
+        return customerDaoService.findCustomerVersion(customerId);
+    }
+
+    /**
+     * Get all the information of a Customer given his documentId.
+     * <p>
+     * The lookup uses the unique index on documentId.
+     *
+     * @param documentId The customer document identifier
+     * @return The customer and all his information.
+     */
+    @Override
+    public Customer getCustomerByDocumentId(String documentId) {
+        var customer = customerDaoService.findCustomerByDocumentId(documentId);
         if (customer.isEmpty())
             throw new HttpStatusException(HttpStatus.NOT_FOUND, new CustomError("Customer not found."));
 
+        return mapCustomerEntityToCustomerDTO(customer.get());
+    }
+
+    /**
+     * List the customers in id order, one page at a time.
+     * <p>
+     * Uses keyset pagination: the cursor holds the last id of the previous page, so every page is
+     * an index range scan whatever its position.
+     *
+     * @param cursor   The nextCursor of the previous page, null for the first page
+     * @param pageSize The number of customers per page, null for the configured default
+     * @return The page of customers and the cursor of the next one, null if this is the last page
+     */
+    @Override
+    public CustomerPage listCustomers(String cursor, Integer pageSize) {
+        var size = pageSize == null ? customerListingConfiguration.getDefaultPageSize() : pageSize;
+        if (size < 1 || size > customerListingConfiguration.getMaxPageSize())
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST,
+                    new CustomError("The page size must be between 1 and " + customerListingConfiguration.getMaxPageSize() + "."));
+
+        var lastCustomerId = cursor == null ? 0L : CustomerPageCursor.decode(cursor);
+        var customers = customerDaoService.findCustomersAfter(lastCustomerId, size + 1);
+
+        var page = new CustomerPage();
+        var hasNextPage = customers.size() > size;
+        if (hasNextPage)
+            customers = customers.subList(0, size);
+
+        page.setCustomers(customers.stream().map(this::mapCustomerEntityToCustomerDTO).collect(Collectors.toList()));
+        if (hasNextPage)
+            page.setNextCursor(CustomerPageCursor.encode(customers.get(size - 1).getId()));
+        return page;
+    }
+
+    /**
+     * Search customers by name and surname.
+     * <p>
+     * Answered from the in-memory {@link CustomerSearchIndex}, the database is only read for the
+     * customers returned (through the customer cache). Partial and slightly misspelled terms match.
+     *
+     * @param query The terms to search for
+     * @param limit The maximum number of customers, null for the configured default
+     * @return The matching customers, best match first
+     */
+    @Override
+    public List<Customer> searchCustomers(String query, Integer limit) {
+        if (query == null || query.isBlank())
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The search query cannot be empty."));
+
+        var size = limit == null ? customerSearchConfiguration.getDefaultLimit() : limit;
+        if (size < 1 || size > customerSearchConfiguration.getMaxLimit())
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST,
+                    new CustomError("The limit must be between 1 and " + customerSearchConfiguration.getMaxLimit() + "."));
+
+        return customerSearchIndex.search(query, size).stream()
+                .map(customerId -> customerCache.get(customerId, this::loadCustomer))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stream every customer, in id order.
+     * <p>
+     * Customers are read and mapped one at a time as the subscriber requests them.
+     *
+     * @return All the customers
+     */
+    @Override
+    public Publisher<Customer> exportCustomers() {
+        return Flux.from(customerDaoService.streamCustomers(customerExportConfiguration.getFetchSize()))
+                .map(this::mapCustomerEntityToCustomerDTO);
+    }
+
+    /**
+     * Updates an existing customer
+     * <p>
+     * Throws an exception if the customer does not exist. With the version of an If-Match
+     * precondition, the UPDATE only applies to that version, and a 412 exception is thrown if
+     * the customer has been modified since.
+     *
+     * @param customerId     The customer identifier
+     * @param ifMatchVersion The version the If-Match header matched, null for none
+     */
+    @Override
+    public Customer updateCustomer(Long customerId, SaveCustomerRequest saveCustomerRequest, Long ifMatchVersion) {
         validateSaveCustomerRequest(saveCustomerRequest);
-        mapperService.getMapper().map(saveCustomerRequest, customer.get());
+        checkDocumentIdIsAvailable(saveCustomerRequest.getDocumentId(), customerId);
+
+        return applyCustomerChanges(customerId, ifMatchVersion, ifMatchVersion != null,
+                customerEntity -> mapperService.updateCustomerEntity(saveCustomerRequest, customerEntity));
+    }
+
+    /**
+     * Partially updates an existing customer
+     * <p>
+     * Only the fields present in the request are changed. If the request has a version and the
+     * customer is no longer at that version, a 409 exception is thrown.
+     *
+     * @param customerId           The customer identifier
+     * @param patchCustomerRequest The fields to change
+     * @return The updated customer
+     */
+    @Override
+    public Customer patchCustomer(Long customerId, PatchCustomerRequest patchCustomerRequest) {
+        customerRequestValidator.validatePatchCustomerRequest(patchCustomerRequest);
+        if (patchCustomerRequest.getDocumentId() != null)
+            checkDocumentIdIsAvailable(patchCustomerRequest.getDocumentId(), customerId);
 
-        return mapCustomerEntityToCustomerDTO(saveCustomer(customerDaoService.saveCustomer(customer.get())));
+        return applyCustomerChanges(customerId, patchCustomerRequest.getVersion(), false,
+                customerEntity -> mapperService.patchCustomerEntity(patchCustomerRequest, customerEntity));
     }
 
     /**
      * Delete a customer given its id.
      * <p>
-     * As an idempotent method, DELETE won't to anything if the customer does not exits.
+     * As an idempotent method, DELETE won't to anything if the customer does not exits. With the
+     * version of an If-Match precondition, the DELETE only applies to that version, and a 412
+     * exception is thrown if the customer has been modified or deleted since.
      *
-     * @param customerId The customer identifier
+     * @param customerId     The customer identifier
+     * @param ifMatchVersion The version the If-Match header matched, null for none
      */
     @Override
-    public void deleteCustomer(Long customerId) {
-        customerDaoService.findCustomerById(customerId).ifPresent(customerDaoService::deleteCustomer);
+    public void deleteCustomer(Long customerId, Long ifMatchVersion) {
+        boolean deleted;
+        try {
+            deleted = customerDaoService.deleteCustomer(customerId, ifMatchVersion);
+        } catch (StaleCustomerException e) {
+            customerCache.invalidate(customerId);
+            throw staleCustomer(ifMatchVersion != null);
+        }
+        customerCache.invalidate(customerId);
+        customerSearchIndex.remove(customerId);
+        if (!deleted && ifMatchVersion != null)
+            throw staleCustomer(true);
     }
 
 
@@ -95,16 +355,81 @@ public class CustomerServiceImpl implements CustomerServiceApi {
      * @param saveCustomerRequest the request object to be validated
      */
     private void validateSaveCustomerRequest(SaveCustomerRequest saveCustomerRequest) {
-        if (StringUtils.isEmpty(saveCustomerRequest.getName()))
-            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer name is mandatory."));
+        customerRequestValidator.validateSaveCustomerRequest(saveCustomerRequest);
+    }
 
-        if (StringUtils.isEmpty(saveCustomerRequest.getSurname()))
-            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer surname is mandatory."));
 
-        if (StringUtils.isEmpty(saveCustomerRequest.getDocumentId()))
-            throw new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The customer documentId is mandatory."));
+    /**
+     * Applies the changes to the stored customer with a single optimistic-locked UPDATE and
+     * refreshes the cached copy.
+     *
+     * @param customerId      the customer identifier
+     * @param expectedVersion the version the changes are based on, null for the current one
+     * @param ifMatch         whether the expected version comes from an If-Match precondition
+     * @param changes         the changes to apply
+     * @return the updated customer
+     */
+    private Customer applyCustomerChanges(Long customerId, Long expectedVersion, boolean ifMatch,
+                                          Consumer<CustomerEntity> changes) {
+        Optional<CustomerEntity> customer;
+        try {
+            customer = customerDaoService.updateCustomer(customerId, expectedVersion, changes);
+        } catch (DuplicateCustomerException e) {
+            throw new HttpStatusException(HttpStatus.CONFLICT, new CustomError(DUPLICATE_DOCUMENT_ID_MESSAGE));
+        } catch (StaleCustomerException e) {
+            customerCache.invalidate(customerId);
+            throw staleCustomer(ifMatch);
+        }
+
+        if (customer.isEmpty())
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, new CustomError("Customer not found."));
+
+        indexCustomer(customer.get());
+        var updatedCustomer = mapCustomerEntityToCustomerDTO(customer.get());
+        customerCache.put(updatedCustomer);
+        return updatedCustomer;
     }
 
+    /**
+     * Check that no other customer has the given documentId
+     * <p>
+     * Throws a 409 exception otherwise. The unique constraint on documentId still protects
+     * against concurrent requests, see {@link #saveCustomer(CustomerEntity)}.
+     *
+     * @param documentId the customer document identifier
+     * @param customerId the customer being updated, null on creation
+     */
+    private void checkDocumentIdIsAvailable(String documentId, Long customerId) {
+        var existingCustomer = customerDaoService.findCustomerByDocumentId(documentId);
+        if (existingCustomer.isPresent() && !existingCustomer.get().getId().equals(customerId))
+            throw new HttpStatusException(HttpStatus.CONFLICT, new CustomError(DUPLICATE_DOCUMENT_ID_MESSAGE));
+    }
+
+    /**
+     * The error for a write based on a version that is no longer the current one: 412 if the
+     * version came from an If-Match precondition, 409 otherwise.
+     *
+     * @param ifMatch whether the version came from an If-Match precondition
+     * @return the exception to throw
+     */
+    static HttpStatusException staleCustomer(boolean ifMatch) {
+        if (ifMatch)
+            return new HttpStatusException(HttpStatus.PRECONDITION_FAILED, new CustomError(CustomError.MODIFIED_MESSAGE));
+        return new HttpStatusException(HttpStatus.CONFLICT, new CustomError(STALE_CUSTOMER_MESSAGE));
+    }
+
+    /**
+     * Get the message of a validation error
+     *
+     * @param exception the validation error
+     * @return the message sent to the client
+     */
+    private String errorMessage(HttpStatusException exception) {
+        return exception.getBody()
+                .filter(CustomError.class::isInstance)
+                .map(body -> ((CustomError) body).getMessage())
+                .orElse(exception.getMessage());
+    }
 
     /**
      * Get all the information of a Customer given his id.
@@ -113,7 +438,20 @@ public class CustomerServiceImpl implements CustomerServiceApi {
      * @return The customer and all his information.
      */
     private Optional<CustomerEntity> getCustomerIfExists(Long customerId) {
-        return customerDaoService.findCustomerById(customerId);
+        return customerDaoService.findLatestCustomerById(customerId);
+    }
+
+    /**
+     * Load a Customer from database, used on customer cache misses. Read from the primary, as the
+     * cache keeps it until it expires or the customer changes.
+     *
+     * @param customerId The customer identifier
+     * @return The customer, or null if it does not exist
+     */
+    private Customer loadCustomer(Long customerId) {
+        return getCustomerIfExists(customerId)
+                .map(this::mapCustomerEntityToCustomerDTO)
+                .orElse(null);
     }
 
     /**
@@ -123,7 +461,20 @@ public class CustomerServiceImpl implements CustomerServiceApi {
      * @return the Customer object
      */
     private CustomerEntity saveCustomer(CustomerEntity customerEntity) {
-        return customerDaoService.saveCustomer(customerEntity);
+        try {
+            return customerDaoService.saveCustomer(customerEntity);
+        } catch (DuplicateCustomerException e) {
+            throw new HttpStatusException(HttpStatus.CONFLICT, new CustomError(DUPLICATE_DOCUMENT_ID_MESSAGE));
+        }
+    }
+
+    /**
+     * Adds a saved customer to the search index, or refreshes its indexed names
+     *
+     * @param customerEntity the saved customer
+     */
+    private void indexCustomer(CustomerEntity customerEntity) {
+        customerSearchIndex.index(customerEntity.getId(), customerEntity.getName(), customerEntity.getSurname());
     }
 
     /**
@@ -133,7 +484,7 @@ public class CustomerServiceImpl implements CustomerServiceApi {
      * @return the Customer object
      */
     private Customer mapCustomerEntityToCustomerDTO(CustomerEntity customerEntity) {
-        return mapperService.getMapper().map(customerEntity, Customer.class);
+        return mapperService.toCustomer(customerEntity);
     }
 
     /**
@@ -143,7 +494,7 @@ public class CustomerServiceImpl implements CustomerServiceApi {
      * @return the Customer entity object
      */
     private CustomerEntity mapCustomerEntityFromSaveCustomerRequest(SaveCustomerRequest saveCustomerRequest) {
-        return mapperService.getMapper().map(saveCustomerRequest, CustomerEntity.class);
+        return mapperService.toCustomerEntity(saveCustomerRequest);
     }
 
 }
@@ -0,0 +1,62 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import org.agilemonkeys.customer.api.error.CustomError;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a body received in arbitrary chunks into UTF-8 lines. Only the current, incomplete
+ * line is buffered between chunks.
+ */
+final class LineSplitter {
+    private final int maxLineLength;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    LineSplitter(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * @param chunk the next chunk of the body
+     * @return the lines completed by this chunk
+     */
+    List<String> feed(byte[] chunk) {
+        var lines = new ArrayList<String>();
+        var start = 0;
+        for (int i = 0; i < chunk.length; i++) {
+            if (chunk[i] == '\n') {
+                append(chunk, start, i - start);
+                lines.add(takeLine());
+                start = i + 1;
+            }
+        }
+        append(chunk, start, chunk.length - start);
+        return lines;
+    }
+
+    /**
+     * @return the last line, if the body does not end with a line break
+     */
+    List<String> finish() {
+        return pending.size() == 0 ? List.of() : List.of(takeLine());
+    }
+
+    private void append(byte[] chunk, int offset, int length) {
+        if (pending.size() + length > maxLineLength)
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST,
+                    new CustomError("Lines can not be longer than " + maxLineLength + " bytes."));
+
+        pending.write(chunk, offset, length);
+    }
+
+    private String takeLine() {
+        var line = pending.toString(StandardCharsets.UTF_8);
+        pending.reset();
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+}
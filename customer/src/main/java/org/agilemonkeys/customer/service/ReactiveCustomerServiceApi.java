@@ -0,0 +1,33 @@
+package org.agilemonkeys.customer.service;
+
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of {@link CustomerServiceApi}, selected with customer.stack=REACTIVE.
+ */
+public interface ReactiveCustomerServiceApi {
+    Mono<Customer> createCustomer(SaveCustomerRequest saveCustomerRequest);
+
+    Mono<Customer> getCustomerDetail(Long customerId);
+
+    Mono<CustomerVersion> getCustomerVersion(Long customerId);
+
+    Mono<Customer> getCustomerByDocumentId(String documentId);
+
+    Mono<CustomerPage> listCustomers(String cursor, Integer pageSize);
+
+    Mono<List<Customer>> searchCustomers(String query, Integer limit);
+
+    Mono<Customer> updateCustomer(Long customerId, SaveCustomerRequest saveCustomerRequest, Long ifMatchVersion);
+
+    Mono<Customer> patchCustomer(Long customerId, PatchCustomerRequest patchCustomerRequest);
+
+    Mono<Void> deleteCustomer(Long customerId, Long ifMatchVersion);
+}
@@ -0,0 +1,199 @@
+package org.agilemonkeys.customer.service;
+
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.api.CustomerVersion;
+import org.agilemonkeys.customer.api.PatchCustomerRequest;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.api.error.CustomError;
+import org.agilemonkeys.customer.mapper.MapperService;
+import org.agilemonkeys.customer.metrics.Measured;
+import org.agilemonkeys.customer.persistence.dao.DuplicateCustomerException;
+import org.agilemonkeys.customer.persistence.dao.ReactiveCustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.dao.StaleCustomerException;
+import org.agilemonkeys.customer.persistence.entity.ReactiveCustomerEntity;
+import org.agilemonkeys.customer.search.CustomerSearchConfiguration;
+import org.agilemonkeys.customer.search.CustomerSearchIndex;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Same rules and error responses as {@link CustomerServiceImpl}, without ever blocking a thread.
+ * <p>
+ * Reads always go to the database: the customer cache is only used by the blocking stack.
+ */
+@Singleton
+@Measured("customer.service")
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerServiceApi {
+
+    private final ReactiveCustomerDaoServiceApi customerDaoService;
+    private final MapperService mapperService;
+    private final CustomerRequestValidator customerRequestValidator;
+    private final CustomerListingConfiguration customerListingConfiguration;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSearchConfiguration customerSearchConfiguration;
+
+    @Inject
+    public ReactiveCustomerServiceImpl(ReactiveCustomerDaoServiceApi customerDaoService, MapperService mapperService,
+                                       CustomerRequestValidator customerRequestValidator,
+                                       CustomerListingConfiguration customerListingConfiguration,
+                                       CustomerSearchIndex customerSearchIndex,
+                                       CustomerSearchConfiguration customerSearchConfiguration) {
+        this.customerDaoService = customerDaoService;
+        this.mapperService = mapperService;
+        this.customerRequestValidator = customerRequestValidator;
+        this.customerListingConfiguration = customerListingConfiguration;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerSearchConfiguration = customerSearchConfiguration;
+    }
+
+    @Override
+    public Mono<Customer> createCustomer(SaveCustomerRequest saveCustomerRequest) {
+        return Mono.fromRunnable(() -> customerRequestValidator.validateSaveCustomerRequest(saveCustomerRequest))
+                .then(checkDocumentIdIsAvailable(saveCustomerRequest.getDocumentId(), null))
+                .then(Mono.defer(() -> customerDaoService.saveCustomer(mapperService.toReactiveCustomerEntity(saveCustomerRequest))))
+                .doOnNext(this::indexCustomer)
+                .map(mapperService::toCustomer)
+                .onErrorMap(DuplicateCustomerException.class, e -> conflict(CustomerServiceImpl.DUPLICATE_DOCUMENT_ID_MESSAGE));
+    }
+
+    @Override
+    public Mono<Customer> getCustomerDetail(Long customerId) {
+        return customerDaoService.findCustomerById(customerId)
+                .map(mapperService::toCustomer)
+                .switchIfEmpty(Mono.error(this::notFound));
+    }
+
+    @Override
+    public Mono<CustomerVersion> getCustomerVersion(Long customerId) {
+        return customerDaoService.findCustomerVersion(customerId);
+    }
+
+    @Override
+    public Mono<Customer> getCustomerByDocumentId(String documentId) {
+        return customerDaoService.findCustomerByDocumentId(documentId)
+                .map(mapperService::toCustomer)
+                .switchIfEmpty(Mono.error(this::notFound));
+    }
+
+    /**
+     * List the customers in id order, one page at a time. See {@link CustomerServiceImpl#listCustomers}.
+     */
+    @Override
+    public Mono<CustomerPage> listCustomers(String cursor, Integer pageSize) {
+        return Mono.defer(() -> {
+            var size = pageSize == null ? customerListingConfiguration.getDefaultPageSize() : pageSize;
+            if (size < 1 || size > customerListingConfiguration.getMaxPageSize())
+                return Mono.error(new HttpStatusException(HttpStatus.BAD_REQUEST,
+                        new CustomError("The page size must be between 1 and " + customerListingConfiguration.getMaxPageSize() + ".")));
+
+            var lastCustomerId = cursor == null ? 0L : CustomerPageCursor.decode(cursor);
+            return customerDaoService.findCustomersAfter(lastCustomerId, size + 1)
+                    .collectList()
+                    .map(customers -> {
+                        var page = new CustomerPage();
+                        var hasNextPage = customers.size() > size;
+                        var pageCustomers = hasNextPage ? customers.subList(0, size) : customers;
+
+                        page.setCustomers(pageCustomers.stream().map(mapperService::toCustomer).collect(Collectors.toList()));
+                        if (hasNextPage)
+                            page.setNextCursor(CustomerPageCursor.encode(pageCustomers.get(size - 1).getId()));
+                        return page;
+                    });
+        });
+    }
+
+    @Override
+    public Mono<List<Customer>> searchCustomers(String query, Integer limit) {
+        return Mono.defer(() -> {
+            if (query == null || query.isBlank())
+                return Mono.error(new HttpStatusException(HttpStatus.BAD_REQUEST, new CustomError("The search query cannot be empty.")));
+
+            var size = limit == null ? customerSearchConfiguration.getDefaultLimit() : limit;
+            if (size < 1 || size > customerSearchConfiguration.getMaxLimit())
+                return Mono.error(new HttpStatusException(HttpStatus.BAD_REQUEST,
+                        new CustomError("The limit must be between 1 and " + customerSearchConfiguration.getMaxLimit() + ".")));
+
+            return Flux.fromIterable(customerSearchIndex.search(query, size))
+                    .concatMap(customerDaoService::findCustomerById)
+                    .map(mapperService::toCustomer)
+                    .collectList();
+        });
+    }
+
+    @Override
+    public Mono<Customer> updateCustomer(Long customerId, SaveCustomerRequest saveCustomerRequest, Long ifMatchVersion) {
+        return Mono.fromRunnable(() -> customerRequestValidator.validateSaveCustomerRequest(saveCustomerRequest))
+                .then(checkDocumentIdIsAvailable(saveCustomerRequest.getDocumentId(), customerId))
+                .then(applyCustomerChanges(customerId, ifMatchVersion, ifMatchVersion != null,
+                        customerEntity -> mapperService.updateCustomerEntity(saveCustomerRequest, customerEntity)));
+    }
+
+    @Override
+    public Mono<Customer> patchCustomer(Long customerId, PatchCustomerRequest patchCustomerRequest) {
+        return Mono.fromRunnable(() -> customerRequestValidator.validatePatchCustomerRequest(patchCustomerRequest))
+                .then(patchCustomerRequest.getDocumentId() == null ? Mono.empty()
+                        : checkDocumentIdIsAvailable(patchCustomerRequest.getDocumentId(), customerId))
+                .then(applyCustomerChanges(customerId, patchCustomerRequest.getVersion(), false,
+                        customerEntity -> mapperService.patchCustomerEntity(patchCustomerRequest, customerEntity)));
+    }
+
+    @Override
+    public Mono<Void> deleteCustomer(Long customerId, Long ifMatchVersion) {
+        return customerDaoService.deleteCustomer(customerId, ifMatchVersion)
+                .flatMap(deleted -> {
+                    if (deleted)
+                        customerSearchIndex.remove(customerId);
+                    return deleted || ifMatchVersion == null ? Mono.<Void>empty()
+                            : Mono.<Void>error(CustomerServiceImpl.staleCustomer(true));
+                });
+    }
+
+    /**
+     * Loads the customer, applies the changes and writes it back with an UPDATE guarded by the
+     * version it was loaded with. A stale version is a 412 if it came from If-Match, 409 otherwise.
+     */
+    private Mono<Customer> applyCustomerChanges(Long customerId, Long expectedVersion, boolean ifMatch,
+                                                Consumer<ReactiveCustomerEntity> changes) {
+        return customerDaoService.findCustomerById(customerId)
+                .switchIfEmpty(Mono.error(this::notFound))
+                .flatMap(customerEntity -> {
+                    if (expectedVersion != null && !expectedVersion.equals(customerEntity.getVersion()))
+                        return Mono.error(new StaleCustomerException(customerId, null));
+
+                    changes.accept(customerEntity);
+                    return customerDaoService.updateCustomer(customerEntity);
+                })
+                .doOnNext(this::indexCustomer)
+                .map(mapperService::toCustomer)
+                .onErrorMap(DuplicateCustomerException.class, e -> conflict(CustomerServiceImpl.DUPLICATE_DOCUMENT_ID_MESSAGE))
+                .onErrorMap(StaleCustomerException.class, e -> CustomerServiceImpl.staleCustomer(ifMatch));
+    }
+
+    private void indexCustomer(ReactiveCustomerEntity customerEntity) {
+        customerSearchIndex.index(customerEntity.getId(), customerEntity.getName(), customerEntity.getSurname());
+    }
+
+    private Mono<Void> checkDocumentIdIsAvailable(String documentId, Long customerId) {
+        return customerDaoService.findCustomerByDocumentId(documentId)
+                .filter(existingCustomer -> !existingCustomer.getId().equals(customerId))
+                .flatMap(existingCustomer -> Mono.<Void>error(conflict(CustomerServiceImpl.DUPLICATE_DOCUMENT_ID_MESSAGE)))
+                .then();
+    }
+
+    private HttpStatusException notFound() {
+        return new HttpStatusException(HttpStatus.NOT_FOUND, new CustomError("Customer not found."));
+    }
+
+    private HttpStatusException conflict(String message) {
+        return new HttpStatusException(HttpStatus.CONFLICT, new CustomError(message));
+    }
+}
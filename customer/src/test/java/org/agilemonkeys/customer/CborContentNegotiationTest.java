@@ -0,0 +1,105 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.controller.CborMediaTypeCodec;
+import org.agilemonkeys.customer.controller.CustomerController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+@MicronautTest(transactional = false)
+class CborContentNegotiationTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CborMediaTypeCodec cborCodec;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(CustomerController.APPLICATION_CBOR)
+                .setAccept(CustomerController.APPLICATION_CBOR)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.201 with a CBOR body when creating a customer from a CBOR body")
+    void shouldReturnHTTP201WithACborBodyWhenCreatingACustomerFromACborBody() {
+        var saveCustomerRequest = new SaveCustomerRequest();
+        saveCustomerRequest.setName("Francisco");
+        saveCustomerRequest.setSurname("Lopez");
+        saveCustomerRequest.setDocumentId("99000005C");
+
+        var body = RestAssured.given()
+                .body(cborCodec.encode(saveCustomerRequest))
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .header(HttpHeaders.CONTENT_TYPE, is(CustomerController.APPLICATION_CBOR))
+                .extract()
+                .asByteArray();
+
+        var savedCustomer = cborCodec.decode(Argument.of(Customer.class), body);
+        assertThat(savedCustomer.getCustomerId(), notNullValue());
+        assertThat(savedCustomer.getDocumentId(), is("99000005C"));
+        assertThat(savedCustomer.getCreatedDate(), notNullValue());
+    }
+
+    @Test
+    @DisplayName("Should return the same customer as CBOR or JSON, as the Accept header asks")
+    void shouldReturnTheSameCustomerAsCborOrJsonAsTheAcceptHeaderAsks() {
+        var customerId = RestAssured.given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"99000006C\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class)
+                .getCustomerId();
+
+        var json = RestAssured.given()
+                .accept(MediaType.APPLICATION_JSON)
+                .get("/customers/" + customerId)
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.CONTENT_TYPE, is(MediaType.APPLICATION_JSON))
+                .extract();
+        var cbor = RestAssured.given()
+                .get("/customers/" + customerId)
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.CONTENT_TYPE, is(CustomerController.APPLICATION_CBOR))
+                .extract()
+                .asByteArray();
+
+        var jsonCustomer = json.body().as(Customer.class);
+        var cborCustomer = cborCodec.decode(Argument.of(Customer.class), cbor);
+        assertThat(cborCustomer.getCustomerId(), is(jsonCustomer.getCustomerId()));
+        assertThat(cborCustomer.getDocumentId(), is(jsonCustomer.getDocumentId()));
+        assertThat(cborCustomer.getCreatedDate(), is(jsonCustomer.getCreatedDate()));
+        assertThat(cborCustomer.getVersion(), is(jsonCustomer.getVersion()));
+        assertThat(cbor.length, lessThan(json.asByteArray().length));
+    }
+}
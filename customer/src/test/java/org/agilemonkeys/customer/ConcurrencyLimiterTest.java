@@ -0,0 +1,115 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.execution.AimdLimiter;
+import org.agilemonkeys.customer.execution.ConcurrencyLimiters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+class ConcurrencyLimiterTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    ConcurrencyLimiters concurrencyLimiters;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.503 with Retry-After for reads over the limit, and still admit writes")
+    void shouldReturnHTTP503WithRetryAfterForReadsOverTheLimitAndStillAdmitWrites() {
+        var reads = concurrencyLimiters.getReads();
+        var acquired = 0;
+        while (reads.tryAcquire() > 0)
+            acquired++;
+
+        try {
+            RestAssured.given()
+                    .get("/customers")
+                    .then()
+                    .log()
+                    .all()
+                    .statusCode(503)
+                    .header(HttpHeaders.RETRY_AFTER, is("1"))
+                    .body("message", is("The service is overloaded, retry later."));
+
+            RestAssured.given()
+                    .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"98000001A\"}")
+                    .post("/customers")
+                    .then()
+                    .statusCode(201);
+        } finally {
+            for (int i = 0; i < acquired; i++)
+                reads.release(1, 0, false);
+        }
+
+        RestAssured.given()
+                .get("/customers")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit after slow responses and raise it again while busy")
+    void shouldLowerTheLimitAfterSlowResponsesAndRaiseItAgainWhileBusy() {
+        var limiter = new AimdLimiter("test", 10, 2, 20, 0.5, Duration.ofMillis(100));
+
+        limiter.release(limiter.tryAcquire(), Duration.ofMillis(500).toNanos(), false);
+        assertThat(limiter.getLimit(), is(5));
+
+        limiter.release(limiter.tryAcquire(), Duration.ofMillis(10).toNanos(), true);
+        assertThat(limiter.getLimit(), is(2));
+
+        // Fast, but with too few requests in flight to tell whether a higher limit would hold
+        limiter.release(limiter.tryAcquire(), Duration.ofMillis(10).toNanos(), false);
+        assertThat(limiter.getLimit(), is(2));
+
+        var first = limiter.tryAcquire();
+        var second = limiter.tryAcquire();
+        limiter.release(second, Duration.ofMillis(10).toNanos(), false);
+        assertThat(limiter.getLimit(), is(3));
+        limiter.release(first, Duration.ofMillis(10).toNanos(), false);
+        assertThat(limiter.getInFlight(), is(0));
+    }
+
+    @Test
+    @DisplayName("Should expose the read and write limits for Prometheus")
+    void shouldExposeTheReadAndWriteLimitsForPrometheus() {
+        RestAssured.given()
+                .accept("text/plain")
+                .get("/prometheus")
+                .then()
+                .statusCode(200)
+                .body(allOf(
+                        containsString("customer_limiter_limit{operation=\"read\""),
+                        containsString("customer_limiter_limit{operation=\"write\""),
+                        containsString("customer_limiter_in_flight{operation=\"read\""),
+                        containsString("customer_limiter_rejected_total{operation=\"read\"")));
+    }
+}
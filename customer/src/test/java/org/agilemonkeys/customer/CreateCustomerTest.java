@@ -120,4 +120,27 @@ class CreateCustomerTest {
         assertThat(savedCustomer.getDocumentId(), is("54353453Y"));
         assertThat(savedCustomer.getCreatedDate(), InstantMatchers.before(Instant.now()));
     }
+
+    @Test
+    @DisplayName("Should return HTTP.409 if documentId already exists")
+    void shouldReturnHTTP409IfDocumentIdAlreadyExists() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("77777777C");
+        customerRepository.save(entityCustomer);
+
+        RestAssured.given()
+                .body("{\n" +
+                        "  \"name\": \"Pepe\",\n" +
+                        "  \"surname\": \"Martinez\",\n" +
+                        "  \"documentId\": \"77777777C\"\n" +
+                        "}")
+                .post("/customers")
+                .then()
+                .log()
+                .all()
+                .statusCode(409)
+                .body("message", is("A customer with this documentId already exists."));
+    }
 }
@@ -0,0 +1,123 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.BatchCreateCustomersResponse;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@MicronautTest(transactional = false)
+class CreateCustomersBatchTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and an empty result for an empty batch")
+    void shouldReturnHTTP200AndAnEmptyResultForAnEmptyBatch() {
+        RestAssured.given()
+                .body("[]")
+                .post("/customers/batch")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("created", is(0))
+                .body("rejected", is(0))
+                .body("results", empty());
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200, create the valid customers and reject the invalid ones")
+    void shouldReturnHTTP200CreateTheValidCustomersAndRejectTheInvalidOnes() {
+        var response = RestAssured.given()
+                .body("[\n" +
+                        "  {\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"10000001B\"},\n" +
+                        "  {\"name\": \"\", \"surname\": \"Lopez\", \"documentId\": \"10000002B\"},\n" +
+                        "  {\"name\": \"Pepe\", \"surname\": \"Martinez\", \"documentId\": \"10000003B\"}\n" +
+                        "]")
+                .post("/customers/batch")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(BatchCreateCustomersResponse.class);
+
+        assertThat(response.getCreated(), is(2));
+        assertThat(response.getRejected(), is(1));
+        assertThat(response.getResults(), hasSize(3));
+
+        assertThat(response.getResults().get(0).getStatus(), is(201));
+        assertThat(response.getResults().get(0).getCustomer().getCustomerId(), notNullValue());
+        assertThat(response.getResults().get(0).getCustomer().getDocumentId(), is("10000001B"));
+
+        assertThat(response.getResults().get(1).getIndex(), is(1));
+        assertThat(response.getResults().get(1).getStatus(), is(400));
+        assertThat(response.getResults().get(1).getMessage(), is("The customer name is mandatory."));
+        assertThat(response.getResults().get(1).getCustomer(), nullValue());
+
+        assertThat(response.getResults().get(2).getStatus(), is(201));
+        assertThat(response.getResults().get(2).getCustomer().getName(), is("Pepe"));
+
+        assertThat(customerRepository.findByDocumentId("10000001B").isPresent(), is(true));
+        assertThat(customerRepository.findByDocumentId("10000002B").isPresent(), is(false));
+        assertThat(customerRepository.findByDocumentId("10000003B").isPresent(), is(true));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and reject the customers with a repeated documentId")
+    void shouldReturnHTTP200AndRejectTheCustomersWithARepeatedDocumentId() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("10000011B");
+        customerRepository.save(entityCustomer);
+
+        var response = RestAssured.given()
+                .body("[\n" +
+                        "  {\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"10000011B\"},\n" +
+                        "  {\"name\": \"Pepe\", \"surname\": \"Martinez\", \"documentId\": \"10000012B\"},\n" +
+                        "  {\"name\": \"Juan\", \"surname\": \"Garcia\", \"documentId\": \"10000012B\"}\n" +
+                        "]")
+                .post("/customers/batch")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(BatchCreateCustomersResponse.class);
+
+        assertThat(response.getCreated(), is(1));
+        assertThat(response.getRejected(), is(2));
+        assertThat(response.getResults().get(0).getStatus(), is(409));
+        assertThat(response.getResults().get(1).getStatus(), is(201));
+        assertThat(response.getResults().get(2).getStatus(), is(409));
+        assertThat(response.getResults().get(2).getMessage(), is("A customer with this documentId already exists."));
+    }
+}
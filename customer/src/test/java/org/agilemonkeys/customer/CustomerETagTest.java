@@ -0,0 +1,213 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.agilemonkeys.customer.service.CustomerServiceApi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+class CustomerETagTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerServiceApi customerService;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+
+    @Test
+    @DisplayName("Should return HTTP.304 without body if the ETag still matches")
+    void shouldReturnHTTP304WithoutBodyIfTheETagStillMatches() {
+        var savedCustomer = saveCustomer("70000001E");
+
+        var eTag = RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .header(HttpHeaders.ETAG, notNullValue())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(304)
+                .header(HttpHeaders.ETAG, is(eTag))
+                .body(is(emptyString()));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 with a new ETag once the customer changes")
+    void shouldReturnHTTP200WithANewETagOnceTheCustomerChanges() {
+        var savedCustomer = saveCustomer("70000002E");
+
+        var eTag = RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .statusCode(200)
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"name\": \"Pepe\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .header(HttpHeaders.ETAG, not(eTag))
+                .body("name", is("Pepe"));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.412 on PUT and DELETE if If-Match does not match")
+    void shouldReturnHTTP412OnPutAndDeleteIfIfMatchDoesNotMatch() {
+        var savedCustomer = saveCustomer("70000003E");
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0-0\"")
+                .body("{\n" +
+                        "  \"name\": \"Pepe\",\n" +
+                        "  \"surname\": \"Martinez\",\n" +
+                        "  \"documentId\": \"70000003E\"\n" +
+                        "}")
+                .put("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(412)
+                .body("message", is("The customer has been modified."));
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0-0\"")
+                .delete("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(412);
+
+        assertThat(customerRepository.findById(savedCustomer.getId()).orElseThrow().getName(), is("Francisco"));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.204 on DELETE if If-Match matches")
+    void shouldReturnHTTP204OnDeleteIfIfMatchMatches() {
+        var savedCustomer = saveCustomer("70000004E");
+
+        var eTag = RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .statusCode(200)
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .delete("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(204);
+
+        assertThat(customerRepository.findById(savedCustomer.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.412 if the customer changes between the If-Match check and the write")
+    void shouldReturnHTTP412IfTheCustomerChangesBetweenTheIfMatchCheckAndTheWrite() {
+        var savedCustomer = saveCustomer("70000005E");
+
+        var checkedVersion = customerService.getCustomerVersion(savedCustomer.getId()).orElseThrow().getVersion();
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\n" +
+                        "  \"name\": \"Maria\",\n" +
+                        "  \"surname\": \"Lopez\",\n" +
+                        "  \"documentId\": \"70000005E\"\n" +
+                        "}")
+                .put("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200);
+
+        var saveCustomerRequest = new SaveCustomerRequest();
+        saveCustomerRequest.setName("Francisco");
+        saveCustomerRequest.setSurname("Lopez");
+        saveCustomerRequest.setDocumentId("70000005E");
+        var updateException = assertThrows(HttpStatusException.class,
+                () -> customerService.updateCustomer(savedCustomer.getId(), saveCustomerRequest, checkedVersion));
+        assertThat(updateException.getStatus(), is(HttpStatus.PRECONDITION_FAILED));
+
+        var deleteException = assertThrows(HttpStatusException.class,
+                () -> customerService.deleteCustomer(savedCustomer.getId(), checkedVersion));
+        assertThat(deleteException.getStatus(), is(HttpStatus.PRECONDITION_FAILED));
+
+        var currentCustomer = customerRepository.findById(savedCustomer.getId());
+        assertThat(currentCustomer.isPresent(), is(true));
+        assertThat(currentCustomer.get().getName(), is("Maria"));
+    }
+
+    private CustomerEntity saveCustomer(String documentId) {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId(documentId);
+        return customerRepository.save(entityCustomer);
+    }
+}
@@ -0,0 +1,81 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.persistence.repository.CustomerOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+@Property(name = "customer.outbox.enabled", value = "false")
+class CustomerOutboxDisabledTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerOutboxRepository customerOutboxRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should not write outbox events when the outbox is disabled")
+    void shouldNotWriteOutboxEventsWhenTheOutboxIsDisabled() {
+        var customer = RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"94000101O\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+
+        Long batchCustomerId = RestAssured.given()
+                .body("[{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"94000102O\"}]")
+                .post("/customers/batch")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath().getLong("results[0].customer.customerId");
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"surname\": \"Martinez\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .delete("/customers/{customerId}")
+                .then()
+                .statusCode(204);
+
+        // The database is shared with the other tests, so only this test's customers are looked for
+        var customerIds = List.of(customer.getCustomerId(), batchCustomerId);
+        assertThat(StreamSupport.stream(customerOutboxRepository.findAll().spliterator(), false)
+                .anyMatch(outboxEvent -> customerIds.contains(outboxEvent.getCustomerId())), is(false));
+    }
+}
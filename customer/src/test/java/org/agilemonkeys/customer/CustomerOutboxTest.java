@@ -0,0 +1,167 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerChangeEvent;
+import org.agilemonkeys.customer.api.CustomerChangeType;
+import org.agilemonkeys.customer.persistence.repository.CustomerOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+@Property(name = "customer.outbox.poll-interval", value = "100ms")
+class CustomerOutboxTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerOutboxRepository customerOutboxRepository;
+
+    @Inject
+    RecordingListener recordingListener;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should publish the creation, update and deletion of a customer in order")
+    void shouldPublishTheCreationUpdateAndDeletionOfACustomerInOrder() throws InterruptedException {
+        var customer = RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"94000001O\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"surname\": \"Martinez\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .delete("/customers/{customerId}")
+                .then()
+                .statusCode(204);
+
+        await(() -> recordingListener.eventsOf(customer.getCustomerId()).size() == 3);
+
+        var events = recordingListener.eventsOf(customer.getCustomerId());
+        assertThat(events.stream().map(CustomerChangeEvent::getType).collect(Collectors.toList()),
+                contains(CustomerChangeType.CREATED, CustomerChangeType.UPDATED, CustomerChangeType.DELETED));
+        assertThat(events.get(0).getCustomer().getSurname(), is("Lopez"));
+        assertThat(events.get(1).getCustomer().getSurname(), is("Martinez"));
+        assertThat(events.get(1).getCustomer().getVersion(), is(1L));
+        assertThat(events.get(2).getCustomer().getDocumentId(), is("94000001O"));
+
+        await(() -> customerOutboxRepository.count() == 0);
+    }
+
+    @Test
+    @DisplayName("Should not publish anything for a rejected change")
+    void shouldNotPublishAnythingForARejectedChange() throws InterruptedException {
+        RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"94000002O\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201);
+        await(() -> customerOutboxRepository.count() == 0);
+        var publishedEvents = recordingListener.events.size();
+
+        RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"94000002O\"}")
+                .post("/customers")
+                .then()
+                .statusCode(409);
+
+        assertThat(customerOutboxRepository.count(), is(0L));
+        assertThat(recordingListener.events.size(), is(publishedEvents));
+    }
+
+    @Test
+    @DisplayName("Should not publish an update for a change that leaves the customer as it was")
+    void shouldNotPublishAnUpdateForAChangeThatLeavesTheCustomerAsItWas() throws InterruptedException {
+        var customer = RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"94000003O\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"surname\": \"Lopez\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"surname\": \"Martinez\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        // Events are published in order, so a phantom update would arrive before the real one
+        await(() -> recordingListener.eventsOf(customer.getCustomerId()).size() == 2);
+
+        var events = recordingListener.eventsOf(customer.getCustomerId());
+        assertThat(events.stream().map(CustomerChangeEvent::getType).collect(Collectors.toList()),
+                contains(CustomerChangeType.CREATED, CustomerChangeType.UPDATED));
+        assertThat(events.get(1).getCustomer().getSurname(), is("Martinez"));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !condition.getAsBoolean(); attempt++)
+            Thread.sleep(50);
+        assertThat(condition.getAsBoolean(), is(true));
+    }
+
+    @Singleton
+    static class RecordingListener implements ApplicationEventListener<CustomerChangeEvent> {
+        private final List<CustomerChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(CustomerChangeEvent event) {
+            events.add(event);
+        }
+
+        List<CustomerChangeEvent> eventsOf(Long customerId) {
+            return events.stream()
+                    .filter(event -> event.getCustomerId().equals(customerId))
+                    .collect(Collectors.toList());
+        }
+    }
+}
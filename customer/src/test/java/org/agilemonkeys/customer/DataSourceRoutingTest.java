@@ -0,0 +1,136 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.cache.CustomerCache;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.routing.DataSourceRoutingConfigurer;
+import org.agilemonkeys.customer.persistence.routing.ReadYourWritesFilter;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@MicronautTest(transactional = false)
+// No background outbox reads while counting connections
+@Property(name = "customer.outbox.enabled", value = "false")
+class DataSourceRoutingTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    DataSourceRoutingConfigurer dataSourceRoutingConfigurer;
+
+    @Inject
+    CustomerCache customerCache;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should read customer listings from the replica")
+    void shouldReadCustomerListingsFromTheReplica() {
+        var connectionProvider = dataSourceRoutingConfigurer.getConnectionProvider();
+        var replicaConnections = connectionProvider.getReplicaConnections();
+
+        RestAssured.given()
+                .get("/customers")
+                .then()
+                .statusCode(200);
+
+        assertThat(connectionProvider.getReplicaConnections(), greaterThan(replicaConnections));
+    }
+
+    @Test
+    @DisplayName("Should write customers on the primary and read them back from it during the sticky window")
+    void shouldWriteCustomersOnThePrimaryAndReadThemBackFromItDuringTheStickyWindow() {
+        var connectionProvider = dataSourceRoutingConfigurer.getConnectionProvider();
+        var primaryConnections = connectionProvider.getPrimaryConnections();
+
+        var primaryUntil = RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"95000001P\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE);
+
+        assertThat(primaryUntil, notNullValue());
+        assertThat(connectionProvider.getPrimaryConnections(), greaterThan(primaryConnections));
+
+        primaryConnections = connectionProvider.getPrimaryConnections();
+        var replicaConnections = connectionProvider.getReplicaConnections();
+
+        RestAssured.given()
+                .cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, primaryUntil)
+                .get("/customers")
+                .then()
+                .statusCode(200);
+
+        assertThat(connectionProvider.getPrimaryConnections(), greaterThan(primaryConnections));
+        assertThat(connectionProvider.getReplicaConnections(), is(replicaConnections));
+    }
+
+    @Test
+    @DisplayName("Should load a customer from the primary on a cache miss after an update, even without the cookie")
+    void shouldLoadACustomerFromThePrimaryOnACacheMissAfterAnUpdateEvenWithoutTheCookie() {
+        var connectionProvider = dataSourceRoutingConfigurer.getConnectionProvider();
+
+        var customer = RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"95000002P\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"surname\": \"Martinez\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        // As if evicted or expired, so the next read misses both caches
+        customerCache.invalidate(customer.getCustomerId());
+        sessionFactory.getCache().evict(CustomerEntity.class, customer.getCustomerId());
+
+        var primaryConnections = connectionProvider.getPrimaryConnections();
+        var replicaConnections = connectionProvider.getReplicaConnections();
+
+        // Another client, so without the read-your-writes cookie
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .get("/customers/{customerId}")
+                .then()
+                .statusCode(200)
+                .body("surname", is("Martinez"));
+
+        assertThat(connectionProvider.getPrimaryConnections(), greaterThan(primaryConnections));
+        assertThat(connectionProvider.getReplicaConnections(), is(replicaConnections));
+    }
+}
@@ -74,7 +74,7 @@ class DeleteCustomerTest {
         var entityCustomer = new CustomerEntity();
         entityCustomer.setName("Francisco");
         entityCustomer.setSurname("Lopez");
-        entityCustomer.setDocumentId("54353453Y");
+        entityCustomer.setDocumentId("54353453D");
 
         var savedCustomer = customerRepository.save(entityCustomer);
 
@@ -88,4 +88,41 @@ class DeleteCustomerTest {
 
         assertThat(customerRepository.findById(savedCustomer.getId()), is(Optional.empty()));
     }
+
+    @Test
+    @DisplayName("Should return HTTP.404 when getting a customer after deleting it")
+    void shouldReturnHTTP404WhenGettingACustomerAfterDeletingIt() {
+
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("22222222Y");
+
+        var savedCustomer = customerRepository.save(entityCustomer);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .delete("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(204);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(404)
+                .body("message", is("Customer not found."));
+    }
 }
@@ -0,0 +1,79 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.MediaType;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.controller.CustomerController;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@MicronautTest(transactional = false)
+class ExportCustomersTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    JsonMapper jsonMapper;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(CustomerController.APPLICATION_NDJSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and every customer as a JSON line")
+    void shouldReturnHTTP200AndEveryCustomerAsAJsonLine() throws IOException {
+        var savedIds = new ArrayList<Long>();
+        for (int i = 0; i < 250; i++) {
+            var entityCustomer = new CustomerEntity();
+            entityCustomer.setName("Francisco");
+            entityCustomer.setSurname("Lopez");
+            entityCustomer.setDocumentId(String.format("3%07dE", i));
+            savedIds.add(customerRepository.save(entityCustomer).getId());
+        }
+
+        var body = RestAssured.given()
+                .get("/customers/export")
+                .then()
+                .statusCode(200)
+                .contentType(CustomerController.APPLICATION_NDJSON)
+                .extract()
+                .asString();
+
+        var exportedCustomers = new ArrayList<Customer>();
+        for (var line : body.split("\n"))
+            exportedCustomers.add(jsonMapper.readValue(line, Argument.of(Customer.class)));
+
+        var exportedIds = exportedCustomers.stream().map(Customer::getCustomerId).collect(Collectors.toList());
+        assertThat(exportedIds, hasItems(savedIds.toArray(new Long[0])));
+        assertThat(exportedCustomers.get(0).getName(), is("Francisco"));
+        assertThat(exportedCustomers.get(0).getDocumentId(), notNullValue());
+    }
+}
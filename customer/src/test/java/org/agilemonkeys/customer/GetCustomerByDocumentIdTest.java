@@ -0,0 +1,78 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+class GetCustomerByDocumentIdTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+
+    @Test
+    @DisplayName("Should return HTTP.404 if no customer has the documentId")
+    void shouldReturnHTTP404IfNoCustomerHasTheDocumentId() {
+        RestAssured.given()
+                .pathParams("documentId", "00000000X")
+                .get("/customers/by-document/{documentId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(404)
+                .body("message", is("Customer not found."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and the customer with the documentId")
+    void shouldReturnHTTP200AndTheCustomerWithTheDocumentId() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("88888888D");
+
+        var savedCustomer = customerRepository.save(entityCustomer);
+
+        var customer = RestAssured.given()
+                .pathParams("documentId", "88888888D")
+                .get("/customers/by-document/{documentId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(Customer.class);
+
+        assertThat(customer.getCustomerId(), is(savedCustomer.getId()));
+        assertThat(customer.getName(), is("Francisco"));
+        assertThat(customer.getDocumentId(), is("88888888D"));
+    }
+}
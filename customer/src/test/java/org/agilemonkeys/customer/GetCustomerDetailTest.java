@@ -75,7 +75,7 @@ class GetCustomerDetailTest {
         var entityCustomer = new CustomerEntity();
         entityCustomer.setName("Francisco");
         entityCustomer.setSurname("Lopez");
-        entityCustomer.setDocumentId("54353453Y");
+        entityCustomer.setDocumentId("54353453G");
 
         var savedCustomer = customerRepository.save(entityCustomer);
 
@@ -93,7 +93,7 @@ class GetCustomerDetailTest {
         assertThat(customer.getCustomerId(), notNullValue());
         assertThat(customer.getName(), is("Francisco"));
         assertThat(customer.getSurname(), is("Lopez"));
-        assertThat(customer.getDocumentId(), is("54353453Y"));
+        assertThat(customer.getDocumentId(), is("54353453G"));
         assertThat(savedCustomer.getCreatedDate(), InstantMatchers.before(Instant.now()));
     }
 }
@@ -0,0 +1,140 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.ValidatableResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.controller.CustomerController;
+import org.agilemonkeys.customer.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+class IdempotencyKeyTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    IdempotencyStore idempotencyStore;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.201 with the first response when retrying with the same Idempotency-Key")
+    void shouldReturnHTTP201WithTheFirstResponseWhenRetryingWithTheSameIdempotencyKey() {
+        var firstResponse = postCustomer("key-97000001I", "97000001I")
+                .statusCode(201)
+                .header(CustomerController.IDEMPOTENT_REPLAYED, nullValue())
+                .extract()
+                .body().as(Customer.class);
+
+        // Without the key this retry would be rejected as a duplicate documentId
+        var retriedResponse = postCustomer("key-97000001I", "97000001I")
+                .statusCode(201)
+                .header(CustomerController.IDEMPOTENT_REPLAYED, is("true"))
+                .extract()
+                .body().as(Customer.class);
+
+        assertThat(retriedResponse.getCustomerId(), is(firstResponse.getCustomerId()));
+        assertThat(retriedResponse.getVersion(), is(firstResponse.getVersion()));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.422 if the Idempotency-Key was used for a different request")
+    void shouldReturnHTTP422IfTheIdempotencyKeyWasUsedForADifferentRequest() {
+        postCustomer("key-97000002I", "97000002I")
+                .statusCode(201);
+
+        postCustomer("key-97000002I", "97000003I")
+                .statusCode(422)
+                .body("message", is("The Idempotency-Key was already used for a different request."));
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent retry wait for the first attempt instead of running again")
+    void shouldMakeAConcurrentRetryWaitForTheFirstAttemptInsteadOfRunningAgain() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executions = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var firstAttempt = executor.submit(() -> idempotencyStore.execute("key-concurrent", "request", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "response";
+            }));
+            await(started);
+
+            var retry = executor.submit(() ->
+                    idempotencyStore.execute("key-concurrent", "request", () -> "response " + executions.incrementAndGet()));
+            // Let the retry find the in-flight marker before the first attempt completes
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(firstAttempt.get(10, TimeUnit.SECONDS).isReplayed(), is(false));
+            assertThat(retry.get(10, TimeUnit.SECONDS).isReplayed(), is(true));
+            assertThat(retry.get().getBody(), is("response"));
+            assertThat(executions.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run a retry again if the first attempt failed with an Error")
+    void shouldRunARetryAgainIfTheFirstAttemptFailedWithAnError() {
+        assertThrows(AssertionError.class, () -> idempotencyStore.execute("key-error", "request", () -> {
+            throw new AssertionError("mapper failure");
+        }));
+
+        var retry = idempotencyStore.execute("key-error", "request", () -> "response");
+
+        assertThat(retry.isReplayed(), is(false));
+        assertThat(retry.getBody(), is("response"));
+    }
+
+    private ValidatableResponse postCustomer(String idempotencyKey, String documentId) {
+        return RestAssured.given()
+                .header(CustomerController.IDEMPOTENCY_KEY, idempotencyKey)
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"" + documentId + "\"}")
+                .post("/customers")
+                .then()
+                .log()
+                .all();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
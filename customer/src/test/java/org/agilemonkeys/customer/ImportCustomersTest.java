@@ -0,0 +1,161 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.CustomerImportSummary;
+import org.agilemonkeys.customer.controller.CustomerController;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+@Property(name = "micronaut.server.max-request-size", value = "64KB")
+@Property(name = "customer.import.max-reported-rejections", value = "2")
+class ImportCustomersTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.415 if the body is neither NDJSON nor CSV")
+    void shouldReturnHTTP415IfTheBodyIsNeitherNdjsonNorCsv() {
+        RestAssured.given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("[]")
+                .post("/customers/import")
+                .then()
+                .log()
+                .all()
+                .statusCode(415);
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and import the valid NDJSON lines")
+    void shouldReturnHTTP200AndImportTheValidNdjsonLines() {
+        var summary = RestAssured.given()
+                .contentType(CustomerController.APPLICATION_NDJSON)
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"40000001N\"}\n" +
+                        "{\"name\": \"Francisco\", \"surname\": \"Lopez\"\n" +
+                        "\n" +
+                        "{\"name\": \"\", \"surname\": \"Lopez\", \"documentId\": \"40000002N\"}\n" +
+                        "{\"name\": \"Pepe\", \"surname\": \"Martinez\", \"documentId\": \"40000003N\"}")
+                .post("/customers/import")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(CustomerImportSummary.class);
+
+        assertThat(summary.getReceived(), is(4L));
+        assertThat(summary.getImported(), is(2L));
+        assertThat(summary.getRejected(), is(2L));
+        assertThat(summary.getRejectedLines(), is(List.of(2L, 4L)));
+        assertThat(customerRepository.findByDocumentId("40000001N").isPresent(), is(true));
+        assertThat(customerRepository.findByDocumentId("40000003N").isPresent(), is(true));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and import the valid CSV records")
+    void shouldReturnHTTP200AndImportTheValidCsvRecords() {
+        var summary = RestAssured.given()
+                .contentType(CustomerController.TEXT_CSV)
+                .body("name,surname,documentId\r\n" +
+                        "Francisco,Lopez,40000004C\r\n" +
+                        "\"Lopez, Francisco\",Lopez,40000005C\r\n" +
+                        "Pepe,Martinez\r\n")
+                .post("/customers/import")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(CustomerImportSummary.class);
+
+        assertThat(summary.getReceived(), is(3L));
+        assertThat(summary.getImported(), is(2L));
+        assertThat(summary.getRejectedLines(), is(List.of(4L)));
+        assertThat(customerRepository.findByDocumentId("40000005C").get().getName(), is("Lopez, Francisco"));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 for an import body larger than the server max request size")
+    void shouldReturnHTTP200ForAnImportBodyLargerThanTheServerMaxRequestSize() {
+        var body = new StringBuilder("name,surname,documentId\r\n");
+        for (int i = 0; i < 3_000; i++)
+            body.append(String.format("Francisco,Lopez,4100%04dC\r\n", i));
+
+        var summary = RestAssured.given()
+                .contentType(CustomerController.TEXT_CSV)
+                .body(body.toString())
+                .post("/customers/import")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body().as(CustomerImportSummary.class);
+
+        assertThat(summary.getImported(), is(3_000L));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.413 for any other body larger than the server max request size")
+    void shouldReturnHTTP413ForAnyOtherBodyLargerThanTheServerMaxRequestSize() {
+        RestAssured.given()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"name\": \"" + "F".repeat(70 * 1024) + "\", \"surname\": \"Lopez\", \"documentId\": \"41009999C\"}")
+                .post("/customers")
+                .then()
+                .statusCode(413);
+
+        assertThat(customerRepository.findByDocumentId("41009999C").isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Should report the first rejected lines when there are more than the reported maximum")
+    void shouldReportTheFirstRejectedLinesWhenThereAreMoreThanTheReportedMaximum() {
+        // Line 2 is only rejected when the first chunk is saved, after the invalid lines are parsed
+        var body = new StringBuilder("Francisco,Lopez,42000000C\r\nFrancisco,Lopez,42000000C\r\n");
+        for (int i = 1; i < 999; i++)
+            body.append(String.format("Francisco,Lopez,4200%04dC\r\n", i));
+        for (int i = 0; i < 10; i++)
+            body.append("Pepe,Martinez\r\n");
+
+        var summary = RestAssured.given()
+                .contentType(CustomerController.TEXT_CSV)
+                .body(body.toString())
+                .post("/customers/import")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body().as(CustomerImportSummary.class);
+
+        assertThat(summary.getRejected(), is(11L));
+        assertThat(summary.getRejectedLines(), is(List.of(2L, 1001L)));
+        assertThat(summary.isRejectedLinesTruncated(), is(true));
+    }
+}
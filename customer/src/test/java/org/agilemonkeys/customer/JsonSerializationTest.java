@@ -0,0 +1,63 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.SaveCustomerRequest;
+import org.agilemonkeys.customer.api.error.CustomError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+class JsonSerializationTest {
+
+    @Inject
+    JsonMapper jsonMapper;
+
+    @Test
+    @DisplayName("Should keep every customer field, with the dates to the nanosecond, through JSON")
+    void shouldKeepEveryCustomerFieldWithTheDatesToTheNanosecondThroughJson() throws IOException {
+        var customer = new Customer();
+        customer.setCustomerId(99000003L);
+        customer.setName("Francisco");
+        customer.setSurname("Lopez");
+        customer.setDocumentId("99000003J");
+        customer.setCreatedDate(Instant.parse("2022-06-01T10:15:30.123456789Z"));
+        customer.setCreatedBy("creator");
+        customer.setUpdatedDate(Instant.parse("2022-06-02T10:15:30.987654321Z"));
+        customer.setUpdatedBy("updater");
+        customer.setVersion(3L);
+
+        var readCustomer = jsonMapper.readValue(jsonMapper.writeValueAsBytes(customer), Argument.of(Customer.class));
+
+        assertThat(readCustomer.getCustomerId(), is(99000003L));
+        assertThat(readCustomer.getName(), is("Francisco"));
+        assertThat(readCustomer.getSurname(), is("Lopez"));
+        assertThat(readCustomer.getDocumentId(), is("99000003J"));
+        assertThat(readCustomer.getCreatedDate(), is(customer.getCreatedDate()));
+        assertThat(readCustomer.getCreatedBy(), is("creator"));
+        assertThat(readCustomer.getUpdatedDate(), is(customer.getUpdatedDate()));
+        assertThat(readCustomer.getUpdatedBy(), is("updater"));
+        assertThat(readCustomer.getVersion(), is(3L));
+    }
+
+    @Test
+    @DisplayName("Should read a save request and write an error message")
+    void shouldReadASaveRequestAndWriteAnErrorMessage() throws IOException {
+        var saveCustomerRequest = jsonMapper.readValue(
+                "{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"99000004J\"}",
+                Argument.of(SaveCustomerRequest.class));
+
+        assertThat(saveCustomerRequest.getDocumentId(), is("99000004J"));
+        assertThat(jsonMapper.writeValueAsString(new CustomError("Customer not found.")),
+                is("{\"message\":\"Customer not found.\"}"));
+    }
+}
@@ -0,0 +1,107 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@MicronautTest(transactional = false)
+class ListCustomersTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.400 if the cursor is not valid")
+    void shouldReturnHTTP400IfTheCursorIsNotValid() {
+        RestAssured.given()
+                .queryParam("cursor", "not-a-cursor")
+                .get("/customers")
+                .then()
+                .log()
+                .all()
+                .statusCode(400)
+                .body("message", is("Invalid cursor."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.400 if the page size is not valid")
+    void shouldReturnHTTP400IfThePageSizeIsNotValid() {
+        RestAssured.given()
+                .queryParam("size", 0)
+                .get("/customers")
+                .then()
+                .log()
+                .all()
+                .statusCode(400)
+                .body("message", is("The page size must be between 1 and 500."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and every customer once when following the cursors")
+    void shouldReturnHTTP200AndEveryCustomerOnceWhenFollowingTheCursors() {
+        var savedIds = new ArrayList<Long>();
+        for (int i = 0; i < 5; i++) {
+            var entityCustomer = new CustomerEntity();
+            entityCustomer.setName("Francisco");
+            entityCustomer.setSurname("Lopez");
+            entityCustomer.setDocumentId("2000000" + i + "L");
+            savedIds.add(customerRepository.save(entityCustomer).getId());
+        }
+
+        var listedIds = new ArrayList<Long>();
+        String cursor = null;
+        do {
+            var request = RestAssured.given().queryParam("size", 2);
+            if (cursor != null)
+                request.queryParam("cursor", cursor);
+
+            var page = request.get("/customers")
+                    .then()
+                    .log()
+                    .all()
+                    .statusCode(200)
+                    .extract()
+                    .body().as(CustomerPage.class);
+
+            assertThat(page.getCustomers().size(), lessThanOrEqualTo(2));
+            page.getCustomers().stream().map(Customer::getCustomerId).forEach(listedIds::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(listedIds, hasItems(savedIds.toArray(new Long[0])));
+        var sortedIds = new ArrayList<>(listedIds);
+        sortedIds.sort(Long::compareTo);
+        assertThat(listedIds, is(sortedIds));
+        assertThat(listedIds.stream().distinct().count(), is((long) listedIds.size()));
+    }
+}
@@ -0,0 +1,74 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+
+@MicronautTest(transactional = false)
+class MetricsTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+
+    @Test
+    @DisplayName("Should expose route, service, dao, mapper and connection pool metrics for Prometheus")
+    void shouldExposeRouteServiceDaoMapperAndConnectionPoolMetricsForPrometheus() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("91000001M");
+
+        var savedCustomer = customerRepository.save(entityCustomer);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .accept("text/plain")
+                .get("/prometheus")
+                .then()
+                .log()
+                .ifError()
+                .statusCode(200)
+                .body(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/customers/{customerId}\""),
+                        containsString("customer_service_seconds_count{class=\"CustomerServiceImpl\",method=\"getCustomerDetail\""),
+                        containsString("customer_dao_seconds_count{class=\"CustomerDaoServiceImpl\",method=\"findLatestCustomerById\""),
+                        containsString("customer_mapper_seconds_count{"),
+                        containsString("hikaricp_connections_active"),
+                        containsString("hikaricp_connections_idle"),
+                        containsString("hikaricp_connections_pending"),
+                        containsString("hikaricp_connections_acquire_seconds")));
+    }
+}
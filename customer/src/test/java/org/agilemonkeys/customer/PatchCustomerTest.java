@@ -0,0 +1,129 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+class PatchCustomerTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+
+    @Test
+    @DisplayName("Should return HTTP.404 if customer does not exists")
+    void shouldReturnHTTP404IfCustomerDoesNotExists() {
+        RestAssured.given()
+                .pathParams("customerId", "999999")
+                .body("{\"name\": \"Pepe\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(404)
+                .body("message", is("Customer not found."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.400 if name is empty")
+    void shouldReturnHTTP400IfNameIsEmpty() {
+        var savedCustomer = saveCustomer("60000001P");
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"name\": \"\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(400)
+                .body("message", is("The customer name cannot be empty."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and only update the given fields")
+    void shouldReturnHTTP200AndOnlyUpdateTheGivenFields() {
+        var savedCustomer = saveCustomer("60000002P");
+
+        var patchedCustomer = RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"name\": \"Pepe\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(Customer.class);
+
+        assertThat(patchedCustomer.getName(), is("Pepe"));
+        assertThat(patchedCustomer.getSurname(), is("Lopez"));
+        assertThat(patchedCustomer.getDocumentId(), is("60000002P"));
+        assertThat(patchedCustomer.getVersion(), is(savedCustomer.getVersion() + 1));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.409 if the version is not the current one")
+    void shouldReturnHTTP409IfTheVersionIsNotTheCurrentOne() {
+        var savedCustomer = saveCustomer("60000003P");
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"name\": \"Pepe\", \"version\": " + savedCustomer.getVersion() + "}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"surname\": \"Martinez\", \"version\": " + savedCustomer.getVersion() + "}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(409)
+                .body("message", is("The customer was modified by another request."));
+
+        var storedCustomer = customerRepository.findById(savedCustomer.getId()).orElseThrow();
+        assertThat(storedCustomer.getName(), is("Pepe"));
+        assertThat(storedCustomer.getSurname(), is("Lopez"));
+    }
+
+    private CustomerEntity saveCustomer(String documentId) {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId(documentId);
+        return customerRepository.save(entityCustomer);
+    }
+}
@@ -0,0 +1,194 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.exceptions.BeanInstantiationException;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.persistence.dao.ReactiveCustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+@Property(name = "customer.stack", value = "REACTIVE")
+@Property(name = "customer.outbox.enabled", value = "false")
+class ReactiveStackTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+
+    @Test
+    @DisplayName("Should return HTTP.201 and create new customer")
+    void shouldReturnHTTP201AndCreateNewCustomer() {
+        var savedCustomer = RestAssured.given()
+                .body("{\n" +
+                        "  \"name\": \"Francisco\",\n" +
+                        "  \"surname\": \"Lopez\",\n" +
+                        "  \"documentId\": \"90000001R\"\n" +
+                        "}")
+                .post("/customers")
+                .then()
+                .log()
+                .all()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+
+        assertThat(savedCustomer.getCustomerId(), notNullValue());
+        assertThat(savedCustomer.getVersion(), is(0L));
+        assertThat(customerRepository.findByDocumentId("90000001R").isPresent(), is(true));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.409 if documentId already exists")
+    void shouldReturnHTTP409IfDocumentIdAlreadyExists() {
+        saveCustomer("90000002R");
+
+        RestAssured.given()
+                .body("{\n" +
+                        "  \"name\": \"Pepe\",\n" +
+                        "  \"surname\": \"Martinez\",\n" +
+                        "  \"documentId\": \"90000002R\"\n" +
+                        "}")
+                .post("/customers")
+                .then()
+                .log()
+                .all()
+                .statusCode(409)
+                .body("message", is("A customer with this documentId already exists."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.404 if customer does not exists")
+    void shouldReturnHTTP404IfCustomerDoesNotExists() {
+        RestAssured.given()
+                .pathParams("customerId", "999999")
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(404)
+                .body("message", is("Customer not found."));
+    }
+
+    @Test
+    @DisplayName("Should return the customer with its ETag, and HTTP.304 while it does not change")
+    void shouldReturnTheCustomerWithItsETagAndHTTP304WhileItDoesNotChange() {
+        var savedCustomer = saveCustomer("90000003R");
+
+        var eTag = RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("documentId", is("90000003R"))
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(304);
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.409 when patching with a stale version")
+    void shouldReturnHTTP409WhenPatchingWithAStaleVersion() {
+        var savedCustomer = saveCustomer("90000004R");
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"name\": \"Pepe\", \"version\": " + savedCustomer.getVersion() + "}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("name", is("Pepe"))
+                .body("surname", is("Lopez"));
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\"surname\": \"Martinez\", \"version\": " + savedCustomer.getVersion() + "}")
+                .patch("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(409)
+                .body("message", is("The customer was modified by another request."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.204 and delete the customer")
+    void shouldReturnHTTP204AndDeleteTheCustomer() {
+        var savedCustomer = saveCustomer("90000005R");
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .delete("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(204);
+
+        assertThat(customerRepository.findById(savedCustomer.getId()).isPresent(), is(false));
+    }
+
+    private CustomerEntity saveCustomer(String documentId) {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId(documentId);
+        return customerRepository.save(entityCustomer);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with the reactive stack and the outbox both enabled")
+    void shouldRefuseToStartWithTheReactiveStackAndTheOutboxBothEnabled() {
+        assertThrows(BeanInstantiationException.class, () -> {
+            try (var context = ApplicationContext.run(Map.of(
+                    "customer.stack", "REACTIVE",
+                    "customer.outbox.enabled", "true"))) {
+                context.getBean(ReactiveCustomerDaoServiceApi.class);
+            }
+        });
+    }
+}
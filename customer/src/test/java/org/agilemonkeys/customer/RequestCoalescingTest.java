@@ -0,0 +1,102 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.cache.CustomerCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+@Property(name = "customer.cache.enabled", value = "false")
+class RequestCoalescingTest {
+
+    @Inject
+    CustomerCache customerCache;
+
+    @Test
+    @DisplayName("Should share one load between concurrent lookups of the same customer")
+    void shouldShareOneLoadBetweenConcurrentLookupsOfTheSameCustomer() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var lookups = new ArrayList<Future<Optional<Customer>>>();
+            lookups.add(executor.submit(() -> customerCache.get(99000001L, customerId -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return customer(customerId);
+            })));
+            await(started);
+
+            for (int i = 0; i < 3; i++) {
+                lookups.add(executor.submit(() -> customerCache.get(99000001L, customerId -> {
+                    loads.incrementAndGet();
+                    return customer(customerId);
+                })));
+            }
+            // Let the other lookups find the load in flight before it completes
+            Thread.sleep(200);
+            release.countDown();
+
+            for (var lookup : lookups)
+                assertThat(lookup.get(10, TimeUnit.SECONDS).map(Customer::getCustomerId), is(Optional.of(99000001L)));
+            assertThat(loads.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not share a load started before the customer was written")
+    void shouldNotShareALoadStartedBeforeTheCustomerWasWritten() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var staleLookup = executor.submit(() -> customerCache.get(99000002L, customerId -> {
+                started.countDown();
+                await(release);
+                return customer(customerId);
+            }));
+            await(started);
+
+            customerCache.invalidate(99000002L);
+            var lookup = customerCache.get(99000002L, customerId -> null);
+            release.countDown();
+
+            assertThat(lookup.isPresent(), is(false));
+            assertThat(staleLookup.get(10, TimeUnit.SECONDS).isPresent(), is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Customer customer(Long customerId) {
+        var customer = new Customer();
+        customer.setCustomerId(customerId);
+        return customer;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.agilemonkeys.customer.search.CustomerSearchConfiguration;
+import org.agilemonkeys.customer.search.CustomerSearchIndex;
+import org.agilemonkeys.customer.search.CustomerSearchIndexLoader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@MicronautTest(transactional = false)
+class SearchCustomersTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerSearchIndexLoader customerSearchIndexLoader;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.400 if the search query is empty")
+    void shouldReturnHTTP400IfTheSearchQueryIsEmpty() {
+        RestAssured.given()
+                .queryParam("q", " ")
+                .get("/customers/search")
+                .then()
+                .log()
+                .all()
+                .statusCode(400)
+                .body("message", is("The search query cannot be empty."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.400 if the limit is out of range")
+    void shouldReturnHTTP400IfTheLimitIsOutOfRange() {
+        RestAssured.given()
+                .queryParam("q", "Lopez")
+                .queryParam("limit", 0)
+                .get("/customers/search")
+                .then()
+                .log()
+                .all()
+                .statusCode(400)
+                .body("message", is("The limit must be between 1 and 100."));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and find customers by name prefix")
+    void shouldReturnHTTP200AndFindCustomersByNamePrefix() {
+        var customer = createCustomer("Evaristo", "Quintanilla", "93000001S");
+
+        RestAssured.given()
+                .queryParam("q", "evar quint")
+                .get("/customers/search")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("[0].customerId", is(customer.getCustomerId().intValue()))
+                .body("[0].surname", is("Quintanilla"));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and find customers with typos and without accents")
+    void shouldReturnHTTP200AndFindCustomersWithTyposAndWithoutAccents() {
+        createCustomer("Gumersindo", "Ibáñez", "93000002S");
+
+        RestAssured.given()
+                .queryParam("q", "Gumresindo ibanez")
+                .get("/customers/search")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("surname", hasItem("Ibáñez"));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and follow updates and deletes")
+    void shouldReturnHTTP200AndFollowUpdatesAndDeletes() {
+        var customer = createCustomer("Leocadio", "Zurbano", "93000003S");
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"surname\": \"Arrizabalaga\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .queryParam("q", "Zurbano")
+                .get("/customers/search")
+                .then()
+                .statusCode(200)
+                .body("surname", not(hasItem("Zurbano")));
+        RestAssured.given()
+                .queryParam("q", "Leocadio Arrizabalaga")
+                .get("/customers/search")
+                .then()
+                .statusCode(200)
+                .body("[0].customerId", is(customer.getCustomerId().intValue()));
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .delete("/customers/{customerId}")
+                .then()
+                .statusCode(204);
+
+        RestAssured.given()
+                .queryParam("q", "Leocadio")
+                .get("/customers/search")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("$", empty());
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 and find the stored customers once the index is built")
+    void shouldReturnHTTP200AndFindTheStoredCustomersOnceTheIndexIsBuilt() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Wenceslao");
+        entityCustomer.setSurname("Olabarrieta");
+        entityCustomer.setDocumentId("93000004S");
+        var savedCustomer = customerRepository.save(entityCustomer);
+
+        customerSearchIndexLoader.onStartup(null);
+
+        RestAssured.given()
+                .queryParam("q", "olabarr")
+                .get("/customers/search")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("[0].customerId", is(savedCustomer.getId().intValue()));
+    }
+
+    private Customer createCustomer(String name, String surname, String documentId) {
+        return RestAssured.given()
+                .body("{\"name\": \"" + name + "\", \"surname\": \"" + surname + "\", \"documentId\": \"" + documentId + "\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+    }
+
+    @Test
+    @DisplayName("Should keep finding a customer with typos while customers sharing its trigrams are removed")
+    void shouldKeepFindingACustomerWithTyposWhileCustomersSharingItsTrigramsAreRemoved() {
+        var customerSearchIndex = new CustomerSearchIndex(new CustomerSearchConfiguration());
+        var iterations = 5_000;
+        var barrier = new CyclicBarrier(2);
+
+        var indexer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < iterations; i++) {
+                await(barrier);
+                customerSearchIndex.index(2L * i, base(i) + "a", "Lopez");
+            }
+        });
+        var remover = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < iterations; i++) {
+                customerSearchIndex.index(2L * i + 1, base(i) + "b", "Lopez");
+                await(barrier);
+                customerSearchIndex.remove(2L * i + 1);
+            }
+        });
+        CompletableFuture.allOf(indexer, remover).join();
+
+        for (int i = 0; i < iterations; i++)
+            assertThat(customerSearchIndex.search(base(i) + "z", 10), hasItem(2L * i));
+    }
+
+    /**
+     * Four letters, different for every i.
+     */
+    private static String base(int i) {
+        var base = new StringBuilder();
+        for (int letter = 0; letter < 4; letter++, i /= 26)
+            base.append((char) ('a' + i % 26));
+        return base.toString();
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
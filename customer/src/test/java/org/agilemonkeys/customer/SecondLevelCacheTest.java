@@ -0,0 +1,101 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+class SecondLevelCacheTest {
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerDaoServiceApi customerDaoService;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    @DisplayName("Should read a customer by id from the second-level cache")
+    void shouldReadCustomerByIdFromTheSecondLevelCache() {
+        var savedCustomer = saveCustomer("92000001L");
+        customerDaoService.findCustomerById(savedCustomer.getId());
+
+        var statistics = sessionFactory.getStatistics();
+        var hits = statistics.getSecondLevelCacheHitCount();
+        var statements = statistics.getPrepareStatementCount();
+
+        var customer = customerDaoService.findCustomerById(savedCustomer.getId());
+
+        assertThat(customer.isPresent(), is(true));
+        assertThat(statistics.getSecondLevelCacheHitCount(), greaterThan(hits));
+        assertThat(statistics.getPrepareStatementCount(), is(statements));
+    }
+
+    @Test
+    @DisplayName("Should read a customer by documentId from the query cache")
+    void shouldReadCustomerByDocumentIdFromTheQueryCache() {
+        saveCustomer("92000002L");
+        customerDaoService.findCustomerByDocumentId("92000002L");
+
+        var statistics = sessionFactory.getStatistics();
+        var queryHits = statistics.getQueryCacheHitCount();
+        var statements = statistics.getPrepareStatementCount();
+
+        var customer = customerDaoService.findCustomerByDocumentId("92000002L");
+
+        assertThat(customer.isPresent(), is(true));
+        assertThat(statistics.getQueryCacheHitCount(), greaterThan(queryHits));
+        assertThat(statistics.getPrepareStatementCount(), is(statements));
+    }
+
+    @Test
+    @DisplayName("Should not return stale cached customers after an update")
+    void shouldNotReturnStaleCachedCustomersAfterAnUpdate() {
+        var savedCustomer = saveCustomer("92000003L");
+        var cachedCustomer = customerDaoService.findCustomerById(savedCustomer.getId()).orElseThrow();
+        customerDaoService.findCustomerByDocumentId("92000003L");
+
+        cachedCustomer.setSurname("Martinez");
+        cachedCustomer.setDocumentId("92000004L");
+        customerDaoService.saveCustomer(cachedCustomer);
+
+        var customer = customerDaoService.findCustomerById(savedCustomer.getId()).orElseThrow();
+        assertThat(customer.getSurname(), is("Martinez"));
+        assertThat(customer.getDocumentId(), is("92000004L"));
+        assertThat(customerDaoService.findCustomerByDocumentId("92000003L").isPresent(), is(false));
+        assertThat(customerDaoService.findCustomerByDocumentId("92000004L").isPresent(), is(true));
+    }
+
+    @Test
+    @DisplayName("Should evict cached customers after a delete")
+    void shouldEvictCachedCustomersAfterADelete() {
+        var savedCustomer = saveCustomer("92000005L");
+        var cachedCustomer = customerDaoService.findCustomerById(savedCustomer.getId()).orElseThrow();
+        customerDaoService.findCustomerByDocumentId("92000005L");
+
+        customerDaoService.deleteCustomer(cachedCustomer);
+
+        assertThat(sessionFactory.getCache().containsEntity(CustomerEntity.class, savedCustomer.getId()), is(false));
+        assertThat(customerDaoService.findCustomerById(savedCustomer.getId()).isPresent(), is(false));
+        assertThat(customerDaoService.findCustomerByDocumentId("92000005L").isPresent(), is(false));
+    }
+
+    private CustomerEntity saveCustomer(String documentId) {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId(documentId);
+        return customerRepository.save(entityCustomer);
+    }
+}
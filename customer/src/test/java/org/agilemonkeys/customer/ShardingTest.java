@@ -0,0 +1,151 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.exceptions.BeanInstantiationException;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import org.agilemonkeys.customer.api.Customer;
+import org.agilemonkeys.customer.api.CustomerPage;
+import org.agilemonkeys.customer.persistence.dao.CustomerDaoServiceApi;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.sharding.CustomerShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest(transactional = false)
+@Property(name = "customer.sharding.enabled", value = "true")
+@Property(name = "customer.outbox.enabled", value = "false")
+class ShardingTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerShards customerShards;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should store a customer on the shard of its documentId and encode that shard in its id")
+    void shouldStoreACustomerOnTheShardOfItsDocumentIdAndEncodeThatShardInItsId() {
+        for (var documentId : new String[]{"96000001H", "96000002H"}) {
+            var customer = createCustomer(documentId);
+            var shard = customerShards.shardFor(documentId);
+
+            assertThat(customerShards.shardOf(customer.getCustomerId()), is(shard));
+            assertThat(findOnShard(shard, customer.getCustomerId()), notNullValue());
+            assertThat(findOnShard(1 - shard, customer.getCustomerId()), nullValue());
+
+            RestAssured.given()
+                    .pathParams("customerId", customer.getCustomerId())
+                    .get("/customers/{customerId}")
+                    .then()
+                    .statusCode(200)
+                    .body("documentId", is(documentId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should list the customers of every shard once and in id order")
+    void shouldListTheCustomersOfEveryShardOnceAndInIdOrder() {
+        var savedIds = new ArrayList<Long>();
+        for (var documentId : new String[]{"96000003H", "96000004H", "96000005H", "96000006H"})
+            savedIds.add(createCustomer(documentId).getCustomerId());
+
+        var listedIds = new ArrayList<Long>();
+        String cursor = null;
+        do {
+            var request = RestAssured.given().queryParam("size", 3);
+            if (cursor != null)
+                request.queryParam("cursor", cursor);
+
+            var page = request.get("/customers")
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .body().as(CustomerPage.class);
+            page.getCustomers().stream().map(Customer::getCustomerId).forEach(listedIds::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(listedIds, hasItems(savedIds.toArray(new Long[0])));
+        var sortedIds = new ArrayList<>(listedIds);
+        sortedIds.sort(Long::compareTo);
+        assertThat(listedIds, is(sortedIds));
+        assertThat(listedIds.stream().distinct().count(), is((long) listedIds.size()));
+    }
+
+    @Test
+    @DisplayName("Should find a customer by a new documentId that hashes to another shard")
+    void shouldFindACustomerByANewDocumentIdThatHashesToAnotherShard() {
+        var customer = createCustomer("96000007H");
+        assertThat(customerShards.shardFor("96000008H"), not(customerShards.shardOf(customer.getCustomerId())));
+
+        RestAssured.given()
+                .pathParams("customerId", customer.getCustomerId())
+                .body("{\"documentId\": \"96000008H\"}")
+                .patch("/customers/{customerId}")
+                .then()
+                .statusCode(200);
+
+        RestAssured.given()
+                .pathParams("documentId", "96000008H")
+                .get("/customers/by-document/{documentId}")
+                .then()
+                .statusCode(200)
+                .body("customerId", is(customer.getCustomerId().intValue()));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with sharding and the outbox both enabled")
+    void shouldRefuseToStartWithShardingAndTheOutboxBothEnabled() {
+        assertThrows(BeanInstantiationException.class, () -> {
+            try (var context = ApplicationContext.run(Map.of(
+                    "customer.sharding.enabled", "true",
+                    "customer.outbox.enabled", "true"))) {
+                context.getBean(CustomerDaoServiceApi.class);
+            }
+        });
+    }
+
+    private Customer createCustomer(String documentId) {
+        return RestAssured.given()
+                .body("{\"name\": \"Francisco\", \"surname\": \"Lopez\", \"documentId\": \"" + documentId + "\"}")
+                .post("/customers")
+                .then()
+                .statusCode(201)
+                .extract()
+                .body().as(Customer.class);
+    }
+
+    private CustomerEntity findOnShard(int shard, Long customerId) {
+        return customerShards.inReadOnlyTransaction(shard, session -> session.get(CustomerEntity.class, customerId));
+    }
+}
@@ -85,7 +85,7 @@ class UpdateCustomerTest {
         var entityCustomer = new CustomerEntity();
         entityCustomer.setName("Francisco");
         entityCustomer.setSurname("Lopez");
-        entityCustomer.setDocumentId("54353453Y");
+        entityCustomer.setDocumentId("54353453A");
 
         var savedCustomer = customerRepository.save(entityCustomer);
 
@@ -112,7 +112,7 @@ class UpdateCustomerTest {
         var entityCustomer = new CustomerEntity();
         entityCustomer.setName("Francisco");
         entityCustomer.setSurname("Lopez");
-        entityCustomer.setDocumentId("54353453Y");
+        entityCustomer.setDocumentId("54353453B");
 
         var savedCustomer = customerRepository.save(entityCustomer);
 
@@ -138,7 +138,7 @@ class UpdateCustomerTest {
         var entityCustomer = new CustomerEntity();
         entityCustomer.setName("Francisco");
         entityCustomer.setSurname("Lopez");
-        entityCustomer.setDocumentId("54353453Y");
+        entityCustomer.setDocumentId("54353453C");
 
         var savedCustomer = customerRepository.save(entityCustomer);
 
@@ -173,7 +173,7 @@ class UpdateCustomerTest {
                 .body("{\n" +
                         "  \"name\": \"Pepe\",\n" +
                         "  \"surname\": \"Martinez\",\n" +
-                        "  \"documentId\": \"54353453Y\"\n" +
+                        "  \"documentId\": \"54353453U\"\n" +
                         "}")
                 .put("/customers/{customerId}")
                 .then()
@@ -187,9 +187,55 @@ class UpdateCustomerTest {
         assertThat(updatedCustomer.getCustomerId(), notNullValue());
         assertThat(updatedCustomer.getName(), is("Pepe"));
         assertThat(updatedCustomer.getSurname(), is("Martinez"));
-        assertThat(updatedCustomer.getDocumentId(), is("54353453Y"));
+        assertThat(updatedCustomer.getDocumentId(), is("54353453U"));
         assertThat(updatedCustomer.getCreatedDate(), InstantMatchers.before(Instant.now()));
         assertThat(updatedCustomer.getUpdatedDate(), InstantMatchers.before(Instant.now()));
 
     }
+
+    @Test
+    @DisplayName("Should return the updated customer when getting it after an update")
+    void shouldReturnTheUpdatedCustomerWhenGettingItAfterAnUpdate() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("333333Y");
+
+        var savedCustomer = customerRepository.save(entityCustomer);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("name", is("Francisco"));
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .body("{\n" +
+                        "  \"name\": \"Pepe\",\n" +
+                        "  \"surname\": \"Martinez\",\n" +
+                        "  \"documentId\": \"333333Y\"\n" +
+                        "}")
+                .put("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200);
+
+        var customer = RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .extract()
+                .body().as(Customer.class);
+
+        assertThat(customer.getName(), is("Pepe"));
+        assertThat(customer.getSurname(), is("Martinez"));
+    }
 }
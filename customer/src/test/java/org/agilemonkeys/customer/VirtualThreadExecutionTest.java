@@ -0,0 +1,79 @@
+package org.agilemonkeys.customer;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.agilemonkeys.customer.execution.BlockingExecutorFactory;
+import org.agilemonkeys.customer.persistence.entity.CustomerEntity;
+import org.agilemonkeys.customer.persistence.repository.CustomerRepository;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest(transactional = false)
+@Property(name = "customer.execution.mode", value = "VIRTUAL")
+class VirtualThreadExecutionTest {
+
+    @Inject
+    private EmbeddedServer server;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    @Named(BlockingExecutorFactory.BLOCKING)
+    ExecutorService blockingExecutor;
+
+    @PostConstruct
+    private void setup() {
+        RestAssured.requestSpecification = null;
+        RestAssured.requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.getURI())
+                .setContentType(MediaType.APPLICATION_JSON)
+                .setAccept(MediaType.APPLICATION_JSON)
+                .build()
+                .log()
+                .all();
+    }
+
+    @Test
+    @DisplayName("Should run blocking handlers on virtual threads on Java 21")
+    void shouldRunBlockingHandlersOnVirtualThreadsOnJava21() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21);
+
+        var isVirtual = blockingExecutor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get();
+
+        assertThat(isVirtual, is(true));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP.200 when getting a customer in virtual execution mode")
+    void shouldReturnHTTP200WhenGettingACustomerInVirtualExecutionMode() {
+        var entityCustomer = new CustomerEntity();
+        entityCustomer.setName("Francisco");
+        entityCustomer.setSurname("Lopez");
+        entityCustomer.setDocumentId("80000001V");
+
+        var savedCustomer = customerRepository.save(entityCustomer);
+
+        RestAssured.given()
+                .pathParams("customerId", savedCustomer.getId())
+                .get("/customers/{customerId}")
+                .then()
+                .log()
+                .all()
+                .statusCode(200)
+                .body("documentId", is("80000001V"));
+    }
+}